@@ -0,0 +1,45 @@
+package ai_project.algorithms;
+
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class AllPairsShortestPathsBenchmark {  // precomputation done by Main before the GA starts
+
+    @Param({"0", "500", "2000"})  // 0 - bundled map
+    private int nodesCount;
+
+    @Param({"PARALLEL_DIJKSTRA", "BLOCKED_FLOYD_WARSHALL"})
+    private AllPairsShortestPaths.Strategy strategy;
+
+    private Graph graph;
+
+    @Setup
+    public void setUp() {
+        graph = BenchmarkGraphs.get(nodesCount).getGraph();
+    }
+
+    @Benchmark
+    public ShortestPaths compute() {
+        return new AllPairsShortestPaths(graph, strategy).compute();
+    }
+
+}
@@ -0,0 +1,65 @@
+package ai_project.algorithms;
+
+import ai_project.models.Node;
+import ai_project.models.Route;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AstarBenchmark {
+
+    private final static int QUERIES = 256;
+    private final static int LANDMARKS = 16;
+
+    @Param({"0", "1000", "10000"})  // 0 - bundled map
+    private int nodesCount;
+
+    @Param({"EUCLIDEAN", "LANDMARKS"})
+    private String heuristicType;
+
+    private Astar astar;
+    private Node[] starts;
+    private Node[] goals;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        BenchmarkGraphs input = BenchmarkGraphs.get(nodesCount);
+        List<Node> nodes = input.getNodes();
+        astar = new Astar(input.getGraph(), nodes, "LANDMARKS".equals(heuristicType)
+                ? new LandmarkHeuristic(input.getGraph(), LANDMARKS)
+                : new EuclideanHeuristic(nodes));
+        SplittableRandom random = new SplittableRandom(1);
+        starts = new Node[QUERIES];
+        goals = new Node[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {  // the same pairs in every run
+            starts[i] = nodes.get(random.nextInt(nodes.size()));
+            goals[i] = nodes.get(random.nextInt(nodes.size()));
+        }
+    }
+
+    @Benchmark
+    public Route getPath() {  // one query, heuristic and search state are prepared once like in a long running solver
+        int i = query++ & (QUERIES - 1);
+        return astar.getPath(starts[i], goals[i]);
+    }
+
+}
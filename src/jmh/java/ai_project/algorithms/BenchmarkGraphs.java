@@ -0,0 +1,56 @@
+package ai_project.algorithms;
+
+import ai_project.fileUtils.FileReader;
+import ai_project.fileUtils.GraphGenerator;
+import ai_project.models.Graph;
+import ai_project.models.Node;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+public class BenchmarkGraphs {  // inputs of benchmarks, the same for every fork
+
+    public final static int BUNDLED = 0;  // nodes count parameter meaning bundled map
+
+    private final Graph graph;
+    private final List<Node> nodes;
+
+    private BenchmarkGraphs(Graph graph, List<Node> nodes) {
+        this.graph = graph;
+        this.nodes = nodes;
+    }
+
+    public static BenchmarkGraphs get(int nodesCount) {
+        return nodesCount == BUNDLED ? bundled() : generated(nodesCount, nodesCount);
+    }
+
+    public static BenchmarkGraphs bundled() {
+        FileReader fileReader = new FileReader();
+        return new BenchmarkGraphs(fileReader.getGraph(), fileReader.getNodes());
+    }
+
+    public static BenchmarkGraphs generated(int nodesCount, long seed) {
+        GraphGenerator generator = new GraphGenerator(nodesCount, 3, 0.2, seed);
+        return new BenchmarkGraphs(generator.getGraph(), generator.getNodes());
+    }
+
+    public static int[][] randomMatrix(int nodesCount, long seed) {  // for GA benchmarks, no triangle inequality
+        SplittableRandom random = new SplittableRandom(seed);
+        int[][] matrix = new int[nodesCount][nodesCount];
+        for (int i = 0; i < nodesCount; i++) {
+            for (int j = 0; j < nodesCount; j++) {
+                matrix[i][j] = i == j ? 0 : 10 + random.nextInt(990);
+            }
+        }
+        return matrix;
+    }
+
+    public Graph getGraph() {
+        return graph;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+}
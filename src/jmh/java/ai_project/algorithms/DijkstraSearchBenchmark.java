@@ -0,0 +1,66 @@
+package ai_project.algorithms;
+
+import ai_project.models.ShortestPathTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DijkstraSearchBenchmark {
+
+    private final static int QUERIES = 256;
+    private final static int TARGETS_PER_SOURCE = 16;
+
+    @Param({"0", "1000", "10000"})  // 0 - bundled map
+    private int nodesCount;
+
+    private DijkstraSearch search;
+    private int[] starts;
+    private int[][] goals;
+    private int query;
+
+    @Setup
+    public void setUp() {
+        BenchmarkGraphs input = BenchmarkGraphs.get(nodesCount);
+        int nodes = input.getGraph().getNodesCount();
+        search = new DijkstraSearch(input.getGraph());
+        SplittableRandom random = new SplittableRandom(1);
+        starts = new int[QUERIES];
+        goals = new int[QUERIES][TARGETS_PER_SOURCE];
+        for (int i = 0; i < QUERIES; i++) {  // the same queries in every run
+            starts[i] = random.nextInt(nodes);
+            for (int k = 0; k < TARGETS_PER_SOURCE; k++) {
+                goals[i][k] = random.nextInt(nodes);
+            }
+        }
+    }
+
+    @Benchmark
+    public int bidirectional() {  // one pair
+        int i = query++ & (QUERIES - 1);
+        return search.getDistance(starts[i], goals[i][0]);
+    }
+
+    @Benchmark
+    public ShortestPathTree oneToMany() {  // all targets of one source in single search
+        int i = query++ & (QUERIES - 1);
+        return search.searchFrom(starts[i], goals[i]);
+    }
+
+}
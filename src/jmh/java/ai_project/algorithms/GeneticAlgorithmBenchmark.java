@@ -0,0 +1,53 @@
+package ai_project.algorithms;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GeneticAlgorithmBenchmark {  // same package as GeneticAlgorithm - one generation step is package private
+
+    @Param({"51", "500", "2000"})
+    private int nodesCount;
+
+    @Param({"10", "100", "1000"})
+    private int population;
+
+    private GeneticAlgorithm geneticAlgorithm;
+
+    @Setup
+    public void setUp() {
+        geneticAlgorithm = new GeneticAlgorithm(
+                population,
+                -1,
+                -1,
+                0.8,
+                0.1,
+                BenchmarkGraphs.randomMatrix(nodesCount, nodesCount),
+                new SplittableRandomSource(1)
+        );
+        geneticAlgorithm.initialize();
+    }
+
+    @Benchmark
+    public int makeNewGeneration() {  // selection, crossover, mutation and fitness of one generation
+        geneticAlgorithm.evolve();
+        return geneticAlgorithm.getBestFitnessInGeneration();
+    }
+
+}
@@ -0,0 +1,64 @@
+package ai_project.models;
+
+import ai_project.algorithms.BenchmarkGraphs;
+import ai_project.algorithms.DistanceOracle;
+import ai_project.algorithms.MatrixDistanceOracle;
+import ai_project.algorithms.RandomSource;
+import ai_project.algorithms.SplittableRandomSource;
+import ai_project.algorithms.TourMoves;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class IndividualBenchmark {
+
+    @Param({"51", "500", "2000"})
+    private int nodesCount;
+
+    private DistanceOracle distances;
+    private RandomSource generator;
+    private Individual parent1;
+    private Individual parent2;
+    private Individual mutated;
+
+    @Setup
+    public void setUp() {
+        distances = new MatrixDistanceOracle(BenchmarkGraphs.randomMatrix(nodesCount, nodesCount));
+        generator = new SplittableRandomSource(1);
+        parent1 = new Individual(0.1, nodesCount, distances, generator);
+        parent2 = new Individual(0.1, nodesCount, distances, generator);
+        mutated = new Individual(0.1, nodesCount, distances, generator);
+    }
+
+    @Benchmark
+    public Individual cross() {
+        return parent1.cross(parent2, generator);
+    }
+
+    @Benchmark
+    public Individual mutate() {  // the same individual keeps mutating, its tour stays valid
+        return mutated.mutate(generator);
+    }
+
+    @Benchmark
+    public int calculateFitness() {  // what Individual.calculateFitness does for a new chromosome
+        return TourMoves.tourLength(distances, parent1.getChromosome());
+    }
+
+}
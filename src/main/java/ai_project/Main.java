@@ -1,90 +1,228 @@
 package ai_project;
 
-import ai_project.algorithms.Astar;
+import ai_project.algorithms.AllPairsShortestPaths;
+import ai_project.algorithms.ConsoleProgressReporter;
+import ai_project.algorithms.DistanceOracle;
 import ai_project.algorithms.GeneticAlgorithm;
+import ai_project.algorithms.IslandGeneticAlgorithm;
+import ai_project.algorithms.LazyDistanceOracle;
+import ai_project.algorithms.LocalSearch;
+import ai_project.algorithms.MatrixDistanceOracle;
+import ai_project.algorithms.ProgressListener;
+import ai_project.algorithms.RandomSource;
+import ai_project.algorithms.SelectionStrategy;
+import ai_project.algorithms.SplittableRandomSource;
+import ai_project.algorithms.TournamentSelection;
 import ai_project.fileUtils.FileReader;
 import ai_project.fileUtils.FileWriter;
+import ai_project.fileUtils.GraphCache;
+import ai_project.metrics.MetricsDumper;
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.Graph;
 import ai_project.models.Individual;
 import ai_project.models.Node;
+import ai_project.models.ShortestPaths;
+import ai_project.service.SolverServer;
+import ai_project.service.SolverService;
 
-import java.util.LinkedList;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 public class Main {
 
     private final static int POPULATION = 10;
     private final static int MAX_GENERATIONS_COUNT = -1;
     private final static int MAX_GENERATIONS_WITH_NO_IMPROVEMENT = 5000000;
+    private final static long TIME_LIMIT_MILLIS = -1;  // -1 - no limit
+    private final static int TARGET_FITNESS = -1;  // -1 - no target, e.g. 3000 - stop at first tour within 50 h
+    private final static long MAX_MILLIS_WITH_NO_IMPROVEMENT = -1;  // -1 - no limit
     private final static double CROSS_FACTOR = 0.8;
     private final static double MUTATE_FACTOR = 0.1;
+    private final static int ISLANDS = 1;  // more than 1 - populations evolve in parallel, e.g. one per core
+    private final static int MIGRATION_INTERVAL = 1000;
+    private final static int MIGRANTS = 1;
+    // tournament, or roulette with AliasSelection::new / PrefixSumSelection::new:
+    private final static Supplier<SelectionStrategy> SELECTION = () -> new TournamentSelection(3);
+    private final static boolean PARALLEL_BREEDING = false;  // worth it for populations in hundreds and more
+    private final static int LOCAL_SEARCH_NEIGHBOURS = 8;  // 0 - offspring are not improved by 2-opt / Or-opt
+    private final static long REPORT_INTERVAL_MILLIS = 1000;  // -1 - no progress reports
+    private final static long SEED = -1;  // -1 - every run is different, other value - reproducible runs
+    private final static AllPairsShortestPaths.Strategy SHORTEST_PATHS_STRATEGY =
+            AllPairsShortestPaths.Strategy.PARALLEL_DIJKSTRA;
+    private final static boolean OFF_HEAP_PATHS = false;
+    private final static String CACHE_FILE = "graph_cache.bin";
+    // 0 - all distances precomputed (N x N), more - every pair searched on first use, at most that many kept in memory
+    // (about 32 bytes each; tours and candidate lists read roughly N x (neighbours + 2) pairs, evicted pairs are
+    // searched again, so smaller cache trades memory for repeated bidirectional searches):
+    private final static int LAZY_DISTANCES_CACHED_PAIRS = 0;
+    private final static String METRICS_FILE = null;  // e.g. "metrics.csv" - metrics written every interval
+    private final static boolean METRICS_JMX = false;  // true - metrics readable in JMX, e.g. in jconsole
+    private final static MetricsDumper.Format METRICS_FORMAT = MetricsDumper.Format.CSV;
+    private final static long METRICS_INTERVAL_MILLIS = 1000;
+    private final static String SERVE_OPTION = "--serve";
+    private final static int SERVER_THREADS = Runtime.getRuntime().availableProcessors();
+    private final static int SERVER_QUEUE_CAPACITY = 64;
+    private final static long SERVER_MAX_TIME_LIMIT_MILLIS = 60000;
+    private final static int SERVER_MAX_NODES = 1000;
+    private final static int SERVER_MAX_POPULATION = 1000;
+    private final static int SERVER_MAX_LOCAL_SEARCH_NEIGHBOURS = 32;
 
-    public static void main(String[] args) {
-        FileReader fileReader = new FileReader();
-        List<Node> nodes = fileReader.getNodes();
+    public static void main(String[] args) {  // optional args: [--serve port] [node names file, connections file]
+        int port = -1;
+        int filesArgument = 0;
+        if (args.length >= 2 && SERVE_OPTION.equals(args[0])) {
+            port = Integer.parseInt(args[1]);
+            filesArgument = 2;
+        }
+        SolverMetrics metrics = METRICS_FILE != null || METRICS_JMX ? new SolverMetrics() : null;  // null - not measured
+        if (METRICS_JMX) {
+            metrics.registerMBean();
+        }
+        MetricsDumper metricsDumper = METRICS_FILE != null
+                ? new MetricsDumper(metrics, METRICS_FILE, METRICS_FORMAT, METRICS_INTERVAL_MILLIS)
+                : null;
+        if (metricsDumper != null) {
+            metricsDumper.start();
+        }
 
-        int[][] connectionsMatrix = fileReader.getInputMatrix();
+        long parsingStart = System.nanoTime();
+        FileReader fileReader = args.length >= filesArgument + 2
+                ? new FileReader(args[filesArgument], args[filesArgument + 1])
+                : new FileReader();
+        List<Node> nodes = fileReader.getNodes();
+        long inputChecksum = fileReader.calculateInputChecksum();
+        if (metrics != null) {
+            metrics.addParsingTime(System.nanoTime() - parsingStart);
+        }
 
-        for (int i = 0; i < nodes.size(); i++) {  // add children to every node
-            for (int j = 0; j < nodes.size(); j++) {
-                if (connectionsMatrix[i][j] != Integer.MAX_VALUE && connectionsMatrix[i][j] != 0) {
-                    nodes.get(i).addChildren(nodes.get(j), connectionsMatrix[i][j]);
+        DistanceOracle distances;
+        if (LAZY_DISTANCES_CACHED_PAIRS > 0 && port < 0) {  // graph too large for N x N matrices
+            parsingStart = System.nanoTime();
+            Graph graph = fileReader.getGraph();
+            if (metrics != null) {
+                metrics.addParsingTime(System.nanoTime() - parsingStart);
+            }
+            LazyDistanceOracle lazyDistances = new LazyDistanceOracle(graph, LAZY_DISTANCES_CACHED_PAIRS);
+            lazyDistances.setMetrics(metrics);
+            distances = lazyDistances;
+        } else {
+            GraphCache graphCache = new GraphCache(CACHE_FILE);
+            GraphCache.Entry cached = graphCache.load(inputChecksum);
+            ShortestPaths shortestPaths;
+            if (cached != null) {  // input files unchanged - skip parsing connections and precomputation
+                shortestPaths = cached.getShortestPaths();
+            } else {
+                parsingStart = System.nanoTime();
+                Graph graph = fileReader.getGraph();
+                if (metrics != null) {
+                    metrics.addParsingTime(System.nanoTime() - parsingStart);
+                }
+                long shortestPathsStart = System.nanoTime();
+                AllPairsShortestPaths allPairsShortestPaths = new AllPairsShortestPaths(
+                        graph,
+                        SHORTEST_PATHS_STRATEGY,
+                        ForkJoinPool.commonPool(),
+                        OFF_HEAP_PATHS
+                );
+                allPairsShortestPaths.setMetrics(metrics);
+                shortestPaths = allPairsShortestPaths.compute();
+                if (metrics != null) {
+                    metrics.addShortestPathsTime(System.nanoTime() - shortestPathsStart);
                 }
+                graphCache.save(inputChecksum, graph, shortestPaths);
+                FileWriter.writeMatrixToFile(shortestPaths.getDistances());
+                FileWriter.writeNodeListToFile(nodes, graph);
             }
+            if (port >= 0) {  // graph stays loaded, every request runs GA on its own subset of nodes
+                serve(new SolverService(
+                        nodes,
+                        shortestPaths,
+                        SERVER_MAX_TIME_LIMIT_MILLIS,
+                        SERVER_MAX_NODES,
+                        SERVER_MAX_POPULATION,
+                        SERVER_MAX_LOCAL_SEARCH_NEIGHBOURS
+                ), port);
+                return;
+            }
+            distances = new MatrixDistanceOracle(shortestPaths);
         }
 
-        @SuppressWarnings("unchecked") LinkedList<Node>[][] paths = new LinkedList[nodes.size()][nodes.size()];
-        for (int i = 0; i < nodes.size(); i++) {
-            for (int j = 0; j < nodes.size(); j++) {
-                LinkedList<Node> path = new LinkedList<>();
-                if (i == j) {  // add node as 1-element path
-                    path.add(new Node(nodes.get(i)));
-                } else if (connectionsMatrix[i][j] < Integer.MAX_VALUE) {  // add nodes i, j as path between them
-                    path.add(new Node(nodes.get(i)));
-                    path.add(new Node(nodes.get(j)));
-                } else {  // find path using A* algorithm, update distance in matrix
-                    path = (LinkedList<Node>) (new Astar(nodes, nodes.get(i), nodes.get(j))).getPath();
-                    connectionsMatrix[i][j] = path.get(path.size() - 1).getDistanceFromStart();
-                    nodes.get(i).addChildren(nodes.get(j), connectionsMatrix[i][j]);
-                }
-                paths[i][j] = path;
-            }
+        RandomSource generator = SplittableRandomSource.fromSeed(SEED);
+        LocalSearch localSearch = LOCAL_SEARCH_NEIGHBOURS > 0
+                ? new LocalSearch(distances, LOCAL_SEARCH_NEIGHBOURS)
+                : null;
+        ForkJoinPool breedingPool = PARALLEL_BREEDING ? ForkJoinPool.commonPool() : null;
+        ProgressListener progressListener = REPORT_INTERVAL_MILLIS >= 0
+                ? new ConsoleProgressReporter(REPORT_INTERVAL_MILLIS)
+                : ProgressListener.SILENT;
+        Individual path;
+        if (ISLANDS > 1) {
+            IslandGeneticAlgorithm islandGeneticAlgorithm = new IslandGeneticAlgorithm(
+                    ISLANDS,
+                    MIGRATION_INTERVAL,
+                    MIGRANTS,
+                    POPULATION,
+                    MAX_GENERATIONS_COUNT,
+                    MAX_GENERATIONS_WITH_NO_IMPROVEMENT,
+                    CROSS_FACTOR,
+                    MUTATE_FACTOR,
+                    distances,
+                    generator
+            );
+            islandGeneticAlgorithm.setSelection(SELECTION);
+            islandGeneticAlgorithm.setLocalSearch(localSearch);
+            islandGeneticAlgorithm.setBreedingPool(breedingPool);
+            islandGeneticAlgorithm.setProgressListener(progressListener);
+            islandGeneticAlgorithm.setMetrics(metrics);
+            islandGeneticAlgorithm.setTimeLimit(TIME_LIMIT_MILLIS);
+            islandGeneticAlgorithm.setTargetFitness(TARGET_FITNESS);
+            islandGeneticAlgorithm.setMaxMillisWithNoImprovement(MAX_MILLIS_WITH_NO_IMPROVEMENT);
+            path = islandGeneticAlgorithm.start();
+        } else {
+            GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
+                    POPULATION,
+                    MAX_GENERATIONS_COUNT,
+                    MAX_GENERATIONS_WITH_NO_IMPROVEMENT,
+                    CROSS_FACTOR,
+                    MUTATE_FACTOR,
+                    distances,
+                    generator
+            );
+            geneticAlgorithm.setSelection(SELECTION.get());
+            geneticAlgorithm.setLocalSearch(localSearch);
+            geneticAlgorithm.setBreedingPool(breedingPool);
+            geneticAlgorithm.setProgressListener(progressListener);
+            geneticAlgorithm.setMetrics(metrics);
+            geneticAlgorithm.setTimeLimit(TIME_LIMIT_MILLIS);
+            geneticAlgorithm.setTargetFitness(TARGET_FITNESS);
+            geneticAlgorithm.setMaxMillisWithNoImprovement(MAX_MILLIS_WITH_NO_IMPROVEMENT);
+            path = geneticAlgorithm.start();
         }
-        FileWriter.writeMatrixToFile(connectionsMatrix);
-        FileWriter.writeNodeListToFile(nodes);
 
-        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
-                POPULATION,
-                MAX_GENERATIONS_COUNT,
-                MAX_GENERATIONS_WITH_NO_IMPROVEMENT,
-                CROSS_FACTOR,
-                MUTATE_FACTOR,
-                connectionsMatrix
-        );
-        Individual path = geneticAlgorithm.start();
-        List<Node> bestPath = new LinkedList<>();
-        for (int i = 1; i < path.getChromosome().length; i++) {
-            int node1id = path.getChromosome()[i - 1];
-            int node2id = path.getChromosome()[i];
-            bestPath.addAll(paths[node1id][node2id]);
-            bestPath.remove(bestPath.size() - 1);
+        if (metricsDumper != null) {
+            metricsDumper.close();
+        }
+        if (METRICS_JMX) {
+            metrics.unregisterMBean();
         }
 
         System.out.println("Best path found:");
         StringBuilder pathAsString = new StringBuilder();
         int pathLength = 0;
-        Node previousNode = bestPath.get(0);
-        Node temp;
-        for (int i = 1; i < bestPath.size(); i++) {
-            temp = bestPath.get(i);
-            pathAsString.append(temp.getName())
-                    .append(" -> ");
-            pathLength += connectionsMatrix[previousNode.getId()][temp.getId()];
-            previousNode = temp;
+        int[] tour = path.getChromosome();
+        for (int i = 0; i < tour.length; i++) {  // tour expanded to trail nodes
+            int from = tour[i];
+            int to = tour[(i + 1) % tour.length];
+            int[] trail = distances.getPath(from, to);
+            for (int k = 1; k < trail.length; k++) {  // first node of segment ends previous one
+                pathAsString.append(nodes.get(trail[k]).getName())
+                        .append(i == tour.length - 1 && k == trail.length - 1 ? "\n" : " -> ");
+            }
+            pathLength += distances.getDistance(from, to);
         }
-        pathLength += connectionsMatrix[bestPath.get(bestPath.size() - 1).getId()][bestPath.get(0).getId()];
-        pathAsString.append(bestPath.get(0).getName())
-                .append("\n")
-                .append("Path length = ")
+        pathAsString.append("Path length = ")
                 .append(pathLength / 60)
                 .append(" h ")
                 .append(pathLength % 60)
@@ -93,4 +231,12 @@ public class Main {
         FileWriter.writePathToFile(pathAsString.toString());
     }
 
-}
\ No newline at end of file
+    private static void serve(SolverService service, int port) {
+        try {
+            new SolverServer(service, port, SERVER_THREADS, SERVER_QUEUE_CAPACITY).start();
+        } catch (IOException e) {
+            System.out.println("Solver couldn't listen on port " + port + "!");
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package ai_project.algorithms;
+
+public class AdjacentSwapMutation {
+
+    private AdjacentSwapMutation() {
+    }
+
+    public static int mutate(  // returns fitness after mutation
+            int[] chromosome,
+            int fitness,
+            double mutateFactor,
+            DistanceOracle distances,
+            RandomSource generator
+    ) {
+        long change = 0;
+        for (int i = 1; i < chromosome.length; i++) {
+            if (generator.nextDouble() < mutateFactor) {
+                change += TourMoves.adjacentSwapDelta(distances, chromosome, i);  // only 3 edges change
+                TourMoves.swap(chromosome, i - 1, i);
+            }
+        }
+        return TourMoves.applyChange(distances, chromosome, fitness, change);
+    }
+
+}
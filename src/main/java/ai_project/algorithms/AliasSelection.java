@@ -0,0 +1,56 @@
+package ai_project.algorithms;
+
+public class AliasSelection extends RouletteSelection {  // Vose's alias method, O(N) prepare, O(1) select
+
+    private double[] probability = new double[0];
+    private int[] alias = new int[0];
+    private int[] small = new int[0];
+    private int[] large = new int[0];
+    private int count;
+
+    @Override
+    public void prepare(int[] fitness, int count) {
+        this.count = count;
+        double weightsSum = prepareWeights(fitness, count);
+        if (probability.length != count) {
+            probability = new double[count];
+            alias = new int[count];
+            small = new int[count];
+            large = new int[count];
+        }
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < count; i++) {
+            probability[i] = weights[i] * count / weightsSum;  // average column is 1
+            if (probability[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {  // column of small one is filled up by large one
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            alias[less] = more;
+            probability[more] += probability[less] - 1;
+            if (probability[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        while (largeCount > 0) {
+            probability[large[--largeCount]] = 1;
+        }
+        while (smallCount > 0) {  // only rounding errors are left
+            probability[small[--smallCount]] = 1;
+        }
+    }
+
+    @Override
+    public int select(RandomSource generator) {
+        int column = generator.nextInt(count);
+        return generator.nextDouble() < probability[column] ? column : alias[column];
+    }
+
+}
@@ -0,0 +1,181 @@
+package ai_project.algorithms;
+
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.DistanceTable;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import ai_project.models.SuccessorTable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+public class AllPairsShortestPaths {
+
+    public enum Strategy {
+        PARALLEL_DIJKSTRA,  // one Dijkstra search per source, sources split between pool threads
+        BLOCKED_FLOYD_WARSHALL  // tiled Floyd-Warshall on flat arrays, independent tiles relaxed in parallel
+    }
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+    private final static int DIJKSTRA_SOURCES_PER_TASK = 4;
+    private final static int FLOYD_WARSHALL_BLOCK_SIZE = 64;
+
+    private final Graph graph;
+    private final Strategy strategy;
+    private final ForkJoinPool pool;
+    private final boolean offHeapSuccessors;
+    private final int nodesCount;
+    private SolverMetrics metrics;  // null - nothing is measured
+
+    public AllPairsShortestPaths(Graph graph, Strategy strategy) {
+        this(graph, strategy, ForkJoinPool.commonPool(), false);
+    }
+
+    public AllPairsShortestPaths(Graph graph, Strategy strategy, ForkJoinPool pool, boolean offHeapSuccessors) {
+        this.graph = graph;
+        this.strategy = strategy;
+        this.pool = pool;
+        this.offHeapSuccessors = offHeapSuccessors;
+        this.nodesCount = graph.getNodesCount();
+    }
+
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public ShortestPaths compute() {
+        switch (strategy) {
+            case BLOCKED_FLOYD_WARSHALL:
+                return floydWarshall();
+            case PARALLEL_DIJKSTRA:
+            default:
+                return dijkstra();
+        }
+    }
+
+    private ShortestPaths dijkstra() {
+        int[][] distances = new int[nodesCount][];
+        SuccessorTable successors = offHeapSuccessors
+                ? SuccessorTable.offHeap(nodesCount)
+                : SuccessorTable.onHeap(nodesCount);
+        pool.invoke(new RangeTask(0, nodesCount, DIJKSTRA_SOURCES_PER_TASK, (from, to) -> {
+            IndexedMinHeap nodesToVisit = new IndexedMinHeap(nodesCount);  // shared by all sources of this task
+            int[] successorsRow = new int[nodesCount];
+            long expandedNodes = 0;
+            for (int source = from; source < to; source++) {
+                distances[source] = new int[nodesCount];
+                expandedNodes += dijkstra(graph, source, distances[source], successorsRow, nodesToVisit);
+                successors.setRow(source, successorsRow);
+            }
+            if (metrics != null) {
+                metrics.addSearchNodesExpanded(expandedNodes);
+            }
+        }));
+        return new ShortestPaths(distances, successors);
+    }
+
+    static int dijkstra(  // returns expanded nodes count
+            Graph graph,
+            int source,
+            int[] distances,
+            int[] successors,
+            IndexedMinHeap nodesToVisit
+    ) {
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(successors, ShortestPaths.NO_PATH);
+        distances[source] = 0;
+        successors[source] = source;
+        nodesToVisit.insert(source, 0);
+        int expandedNodes = 0;
+        while (!nodesToVisit.isEmpty()) {
+            int node = nodesToVisit.pollMin();
+            expandedNodes++;
+            for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                int child = graph.getTarget(edge);
+                int distance = distances[node] + graph.getWeight(edge);
+                if (distance < distances[child]) {
+                    distances[child] = distance;
+                    // first hop of the path to child is child itself or the first hop of the path to node:
+                    successors[child] = node == source ? child : successors[node];
+                    nodesToVisit.insertOrDecrease(child, distance);
+                }
+            }
+        }
+        return expandedNodes;
+    }
+
+    private ShortestPaths floydWarshall() {
+        int[] distances = new int[SuccessorTable.flatLength(nodesCount, 1)];
+        int[] successors = new int[distances.length];
+        Arrays.fill(distances, INFINITY);
+        Arrays.fill(successors, ShortestPaths.NO_PATH);
+        for (int i = 0; i < nodesCount; i++) {
+            distances[i * nodesCount + i] = 0;
+            successors[i * nodesCount + i] = i;
+            for (int edge = graph.firstEdge(i); edge < graph.lastEdge(i); edge++) {
+                int j = graph.getTarget(edge);
+                if (graph.getWeight(edge) < distances[i * nodesCount + j]) {
+                    distances[i * nodesCount + j] = graph.getWeight(edge);
+                    successors[i * nodesCount + j] = j;
+                }
+            }
+        }
+        int blocksCount = (nodesCount + FLOYD_WARSHALL_BLOCK_SIZE - 1) / FLOYD_WARSHALL_BLOCK_SIZE;
+        for (int kBlock = 0; kBlock < blocksCount; kBlock++) {
+            final int k = kBlock;
+            // phase 1: block on diagonal depends only on itself
+            relaxBlock(distances, successors, k, k, k);
+            // phase 2: blocks in row and column of diagonal block depend on themselves and diagonal block
+            pool.invoke(new RangeTask(0, blocksCount, 1, (from, to) -> {
+                for (int block = from; block < to; block++) {
+                    if (block != k) {
+                        relaxBlock(distances, successors, k, block, k);
+                        relaxBlock(distances, successors, block, k, k);
+                    }
+                }
+            }));
+            // phase 3: remaining blocks depend only on blocks from phase 2
+            pool.invoke(new RangeTask(0, blocksCount, 1, (from, to) -> {
+                for (int iBlock = from; iBlock < to; iBlock++) {
+                    if (iBlock == k) {
+                        continue;
+                    }
+                    for (int jBlock = 0; jBlock < blocksCount; jBlock++) {
+                        if (jBlock != k) {
+                            relaxBlock(distances, successors, iBlock, jBlock, k);
+                        }
+                    }
+                }
+            }));
+        }
+        SuccessorTable successorTable = offHeapSuccessors
+                ? SuccessorTable.offHeap(nodesCount, successors)
+                : SuccessorTable.onHeap(nodesCount, successors);
+        return new ShortestPaths(DistanceTable.onHeap(nodesCount, distances), successorTable);  // wrapped, not copied
+    }
+
+    private void relaxBlock(int[] distances, int[] successors, int iBlock, int jBlock, int kBlock) {
+        int iEnd = Math.min(nodesCount, (iBlock + 1) * FLOYD_WARSHALL_BLOCK_SIZE);
+        int jStart = jBlock * FLOYD_WARSHALL_BLOCK_SIZE;
+        int jEnd = Math.min(nodesCount, jStart + FLOYD_WARSHALL_BLOCK_SIZE);
+        int kEnd = Math.min(nodesCount, (kBlock + 1) * FLOYD_WARSHALL_BLOCK_SIZE);
+        for (int k = kBlock * FLOYD_WARSHALL_BLOCK_SIZE; k < kEnd; k++) {
+            int kRow = k * nodesCount;
+            for (int i = iBlock * FLOYD_WARSHALL_BLOCK_SIZE; i < iEnd; i++) {
+                int iRow = i * nodesCount;
+                int distanceIK = distances[iRow + k];
+                if (distanceIK == INFINITY) {
+                    continue;
+                }
+                for (int j = jStart; j < jEnd; j++) {
+                    int distanceKJ = distances[kRow + j];
+                    if (distanceKJ != INFINITY && distanceIK + distanceKJ < distances[iRow + j]) {
+                        distances[iRow + j] = distanceIK + distanceKJ;
+                        successors[iRow + j] = successors[iRow + k];
+                    }
+                }
+            }
+        }
+    }
+
+}
@@ -1,88 +1,78 @@
 package ai_project.algorithms;
 
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.Graph;
 import ai_project.models.Node;
+import ai_project.models.Route;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
-public class Astar {
+public class Astar {  // one instance can be shared by many threads, every thread reuses own search state
 
-    private List<Node> allNodes;
-    private Set<Node> nodesToVisit;
-    private Node start;
-    private Node goal;
+    private final Graph graph;
+    private final List<Node> allNodes;
+    private final Heuristic heuristic;
+    private final ThreadLocal<SearchState> searchState;
+    private SolverMetrics metrics;  // null - nothing is measured
 
-    public Astar(List<Node> nodes, Node start, Node goal) {
+    public Astar(Graph graph, List<Node> nodes) {
+        this(graph, nodes, new EuclideanHeuristic(nodes));
+    }
+
+    public Astar(Graph graph, List<Node> nodes, Heuristic heuristic) {
+        this.graph = graph;
         allNodes = nodes;
-        this.start = start;
-        this.goal = goal;
-        nodesToVisit = new HashSet<>();
-        for (Node node : allNodes) {
-            node.calculateHeuristicDistance(goal);
-        }
+        this.heuristic = heuristic;
+        searchState = ThreadLocal.withInitial(() -> new SearchState(graph.getNodesCount()));
     }
 
-    public List<Node> getPath() {
-        Node currentNode = new Node(start);
-        currentNode.setDistanceFromStart(0);
-        addNewToVisitFromNodeNeighbors(currentNode);
-        while (currentNode.getId() != goal.getId() && !nodesToVisit.isEmpty()) {
-            nodesToVisit.remove(currentNode);
-            addNewToVisitFromNodeNeighbors(currentNode);
-            currentNode = new Node(findBestNodeToVisit());
-        }
-        return reconstructPath(currentNode);
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
     }
 
-    private void addNewToVisitFromNodeNeighbors(Node node) {
-        for (Map.Entry<Integer, Integer> child : node.getChildren().entrySet()) {
-            Node nodeToAdd = new Node(allNodes.get(child.getKey()));
-            nodeToAdd.setCameFrom(node);
-            nodeToAdd.setDistanceFromStart(node.getDistanceFromStart() + child.getValue());
-            addNodeToNodesToVisit(nodeToAdd);
+    public Route getPath(Node start, Node goal) {
+        SearchState state = searchState.get();
+        int goalId = goal.getId();
+        int expandedNodesCount = 0;
+        state.start(start.getId());  // keys of next nodes: distance from start + heuristic distance
+        while (state.hasNodesToVisit()) {
+            int currentNode = state.pollMin();
+            if (currentNode == goalId) {
+                reportExpandedNodes(expandedNodesCount);
+                return new Route(reconstructPath(state, currentNode), state.getDistance(currentNode), expandedNodesCount);
+            }
+            expandedNodesCount++;
+            addNewToVisitFromNodeNeighbors(state, currentNode, goalId);
         }
+        reportExpandedNodes(expandedNodesCount);
+        return new Route(Collections.emptyList(), Integer.MAX_VALUE, expandedNodesCount);  // goal is unreachable
     }
 
-    private void addNodeToNodesToVisit(Node nodeToAdd) {
-        if (!nodesToVisit.contains(nodeToAdd)) {
-            nodesToVisit.add(nodeToAdd);
-        } else {
-            Node nodeAlreadyAdded = null;
-            for (Node n : nodesToVisit) {
-                if (n.getId() == nodeToAdd.getId()) {
-                    nodeAlreadyAdded = n;
-                    break;
-                }
-            }
-            assert nodeAlreadyAdded != null;
-            if (nodeToAdd.getDistanceFromStart() < nodeAlreadyAdded.getDistanceFromStart()) {
-                nodesToVisit.remove(nodeAlreadyAdded);
-                nodesToVisit.add(nodeToAdd);
-            }
+    private void reportExpandedNodes(int expandedNodesCount) {
+        if (metrics != null) {
+            metrics.addSearchNodesExpanded(expandedNodesCount);
         }
     }
 
-    private Node findBestNodeToVisit() {
-        int minValue = Integer.MAX_VALUE;
-        Node bestNodeToVisit = null;
-        for (Node node : nodesToVisit) {
-            int pathHeuristicValue = node.getDistanceFromStart() + node.getHeuristicDistance();
-            if (pathHeuristicValue < minValue) {
-                minValue = pathHeuristicValue;
-                bestNodeToVisit = node;
-            }
+    private void addNewToVisitFromNodeNeighbors(SearchState state, int node, int goal) {
+        for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+            int childId = graph.getTarget(edge);
+            int distanceFromStart = state.getDistance(node) + graph.getWeight(edge);
+            // new node to visit or better path to known one - heuristic may be inconsistent (pixels),
+            // so visited node is reopened then:
+            state.relax(childId, node, distanceFromStart, distanceFromStart + heuristic.estimate(childId, goal));
         }
-        return bestNodeToVisit;
     }
 
-    private List<Node> reconstructPath(Node goal) {
-        List<Node> path = new LinkedList<>();
-        Node currentNode = goal;
-        while (currentNode.getId() != start.getId()) {
-            path.add(0, new Node(currentNode));
-            currentNode = currentNode.getCameFrom();
+    private List<Node> reconstructPath(SearchState state, int goal) {  // shared nodes, no copies
+        List<Node> path = new ArrayList<>();
+        for (int currentNode = goal; currentNode != -1; currentNode = state.getParent(currentNode)) {
+            path.add(allNodes.get(currentNode));
         }
-        path.add(0, new Node(currentNode));
+        Collections.reverse(path);
         return path;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,111 @@
+package ai_project.algorithms;
+
+import ai_project.models.GenerationSnapshot;
+import ai_project.models.Individual;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+public class ConsoleProgressReporter implements ProgressListener {  // prints on improvement or every interval
+
+    private final static long MIN_INTERVAL_MILLIS = 10;  // reporter thread never spins
+
+    private final long intervalNanos;
+    private final AtomicReference<GenerationSnapshot> latest = new AtomicReference<>();
+
+    private volatile boolean running;
+    private Thread reporter;
+    private int notifiedFitness;  // algorithm thread only
+    private GenerationSnapshot reported;  // reporter thread only
+
+    public ConsoleProgressReporter(long intervalMillis) {  // shorter intervals are raised to MIN_INTERVAL_MILLIS
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(intervalMillis, MIN_INTERVAL_MILLIS));
+    }
+
+    @Override
+    public void onStart() {
+        latest.set(null);
+        reported = null;
+        notifiedFitness = Integer.MAX_VALUE;
+        running = true;
+        reporter = new Thread(this::report, "progress-reporter");
+        reporter.setDaemon(true);
+        reporter.start();
+    }
+
+    @Override
+    public void onGeneration(GenerationSnapshot snapshot) {
+        latest.set(snapshot);
+        if (snapshot.getBestFit().getFitness() < notifiedFitness) {  // improvements are printed without waiting
+            notifiedFitness = snapshot.getBestFit().getFitness();
+            LockSupport.unpark(reporter);
+        }
+    }
+
+    @Override
+    public void onFinish(GenerationSnapshot snapshot) {
+        running = false;
+        LockSupport.unpark(reporter);
+        try {
+            reporter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        printBestFit(snapshot);
+    }
+
+    private void report() {
+        long nextReport = System.nanoTime() + intervalNanos;
+        while (running) {
+            LockSupport.parkNanos(this, nextReport - System.nanoTime());
+            GenerationSnapshot snapshot = latest.get();
+            boolean intervalPassed = System.nanoTime() - nextReport >= 0;
+            if (snapshot != null && snapshot != reported && (intervalPassed || improved(snapshot))) {
+                printGeneration(snapshot);
+                reported = snapshot;
+            }
+            if (intervalPassed) {
+                nextReport = System.nanoTime() + intervalNanos;
+            }
+        }
+    }
+
+    private boolean improved(GenerationSnapshot snapshot) {
+        return reported == null || snapshot.getBestFit().getFitness() < reported.getBestFit().getFitness();
+    }
+
+    private static void printGeneration(GenerationSnapshot snapshot) {
+        Individual bestFit = snapshot.getBestFit();
+        StringBuilder text = new StringBuilder();  // one print call - lines of one report are not interleaved
+        text.append("--------------------------------------\n");
+        text.append("> GENERATION ").append(snapshot.getGeneration())
+                .append(" (").append(snapshot.getElapsedMillis()).append(" ms)\n");
+        text.append("--------------------------------------\n");
+        text.append("> BEST FITNESS IN THIS GENERATION = ").append(formatFitness(snapshot.getBestFitnessInGeneration()))
+                .append('\n');
+        text.append("> BEST FIT TILL NOW (GENERATION ").append(snapshot.getFirstGenerationOfBestFit()).append("):\n");
+        text.append("> ").append(bestFit).append('\n');
+        text.append("--------------------------------------\n");
+        System.out.println(text);
+    }
+
+    private static void printBestFit(GenerationSnapshot snapshot) {
+        Individual bestFit = snapshot.getBestFit();
+        if (bestFit == null) {  // run failed before first generation was made
+            return;
+        }
+        StringBuilder text = new StringBuilder();
+        text.append("--------------------------------------\n");
+        text.append("> BEST FIT FOUND IN GENERATION ").append(snapshot.getFirstGenerationOfBestFit()).append('\n');
+        text.append("> ").append(bestFit).append('\n');
+        text.append("> FITNESS = ").append(formatFitness(bestFit.getFitness())).append('\n');
+        text.append("--------------------------------------\n");
+        System.out.println(text);
+    }
+
+    private static String formatFitness(int fitness) {
+        return fitness / 60 + " h " + fitness % 60;
+    }
+
+}
@@ -0,0 +1,164 @@
+package ai_project.algorithms;
+
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPathTree;
+
+import java.util.Arrays;
+
+public class DijkstraSearch {  // point to point and one to many queries on shared graph, one instance per thread
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+
+    private final Graph graph;
+    private final Graph reversed;
+    private final SearchState forward;
+    private final SearchState backward;  // on reversed graph, parent is next node towards goal
+    private int bestDistance;
+    private int expandedNodesCount;
+    private SolverMetrics metrics;  // null - nothing is measured
+
+    public DijkstraSearch(Graph graph) {
+        this(graph, graph.reverse());
+    }
+
+    public DijkstraSearch(Graph graph, Graph reversed) {  // reversed graph can be shared by searches of other threads
+        this.graph = graph;
+        this.reversed = reversed;
+        forward = new SearchState(graph.getNodesCount());
+        backward = new SearchState(graph.getNodesCount());
+    }
+
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public int getExpandedNodesCount() {  // in last query
+        return expandedNodesCount;
+    }
+
+    public int getDistance(int from, int to) {  // Integer.MAX_VALUE if there is no path
+        bidirectionalSearch(from, to);
+        return bestDistance;
+    }
+
+    public int[] getPath(int from, int to) {  // node ids from first to last, empty if there is no path
+        int meeting = bidirectionalSearch(from, to);
+        if (meeting < 0) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int node = meeting; node != from; node = forward.getParent(node)) {
+            length++;
+        }
+        for (int node = meeting; node != to; node = backward.getParent(node)) {
+            length++;
+        }
+        int[] path = new int[length];
+        int position = 0;
+        for (int node = meeting; node != from; node = forward.getParent(node)) {  // meeting ... from, reversed below
+            path[position++] = node;
+        }
+        path[position++] = from;
+        for (int i = 0, j = position - 1; i < j; i++, j--) {
+            int node = path[i];
+            path[i] = path[j];
+            path[j] = node;
+        }
+        for (int node = backward.getParent(meeting); position < length; node = backward.getParent(node)) {
+            path[position++] = node;
+        }
+        return path;
+    }
+
+    public ShortestPathTree searchFrom(int source, int[] targets) {  // one search for all targets, no targets - all nodes
+        expandedNodesCount = 0;
+        forward.start(source);
+        int targetsLeft = targets.length == 0 ? -1 : 0;  // -1 - search isn't stopped early
+        for (int target : targets) {
+            if (forward.mark(target)) {
+                targetsLeft++;
+            }
+        }
+        while (forward.hasNodesToVisit()) {
+            int node = forward.pollMin();
+            expandedNodesCount++;
+            if (forward.isMarked(node) && --targetsLeft == 0) {  // distances of all targets are final
+                break;
+            }
+            int distance = forward.getDistance(node);
+            for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                forward.relax(graph.getTarget(edge), node, distance + graph.getWeight(edge));
+            }
+        }
+        reportExpandedNodes();
+        return forward.toTree(source);
+    }
+
+    // at least count nearest nodes except source, with all nodes as far as the last one, fewer if the rest is
+    // unreachable - distance in high half of every key, node in low half, closest first:
+    public long[] searchNearest(int source, int count, boolean towardsSource) {
+        expandedNodesCount = 0;
+        SearchState search = towardsSource ? backward : forward;
+        Graph searchedGraph = towardsSource ? reversed : graph;
+        search.start(source);
+        long[] nearest = new long[Math.max(count, 1)];
+        int found = 0;
+        while (search.hasNodesToVisit()) {
+            int node = search.pollMin();
+            int distance = search.getDistance(node);
+            if (found >= count && (found == 0 || distance > (int) (nearest[found - 1] >>> 32))) {
+                break;  // farther nodes aren't needed
+            }
+            expandedNodesCount++;
+            if (node != source) {
+                if (found == nearest.length) {  // nodes tied with the last one
+                    nearest = Arrays.copyOf(nearest, found * 2);
+                }
+                nearest[found++] = (long) distance << 32 | node;
+            }
+            for (int edge = searchedGraph.firstEdge(node); edge < searchedGraph.lastEdge(node); edge++) {
+                search.relax(searchedGraph.getTarget(edge), node, distance + searchedGraph.getWeight(edge));
+            }
+        }
+        reportExpandedNodes();
+        return Arrays.copyOf(nearest, found);
+    }
+
+    private int bidirectionalSearch(int from, int to) {  // meeting node of shortest path, -1 if there is no path
+        expandedNodesCount = 0;
+        forward.start(from);
+        backward.start(to);
+        int meeting = from == to ? from : -1;
+        bestDistance = from == to ? 0 : INFINITY;
+        // no shorter path once closest nodes of both searches are together as far as best path,
+        // search which ran out of nodes has min key INFINITY - there is no path if none was found until then:
+        while (forward.getMinKey() + backward.getMinKey() < bestDistance) {
+            boolean isForward = forward.getMinKey() <= backward.getMinKey();
+            SearchState search = isForward ? forward : backward;
+            SearchState other = isForward ? backward : forward;
+            Graph searchedGraph = isForward ? graph : reversed;
+            int node = search.pollMin();
+            expandedNodesCount++;
+            int distance = search.getDistance(node);
+            for (int edge = searchedGraph.firstEdge(node); edge < searchedGraph.lastEdge(node); edge++) {
+                int child = searchedGraph.getTarget(edge);
+                search.relax(child, node, distance + searchedGraph.getWeight(edge));
+                int otherDistance = other.getDistance(child);
+                if (otherDistance != INFINITY && (long) search.getDistance(child) + otherDistance < bestDistance) {
+                    bestDistance = search.getDistance(child) + otherDistance;
+                    meeting = child;
+                }
+            }
+        }
+        reportExpandedNodes();
+        return meeting;
+    }
+
+    private void reportExpandedNodes() {
+        if (metrics != null) {
+            metrics.addSearchNodesExpanded(expandedNodesCount);
+        }
+    }
+
+}
@@ -0,0 +1,15 @@
+package ai_project.algorithms;
+
+public interface DistanceOracle {  // shortest paths between nodes, safe to use from many threads
+
+    int getNodesCount();
+
+    int getDistance(int from, int to);  // Integer.MAX_VALUE if there is no path
+
+    int[] getPath(int from, int to);  // node ids from first to last, empty if there is no path
+
+    // min(count, N - 1) nodes other than node, by cheaper of both directions, ties by lower id, unreachable nodes
+    // last by id - the same lists whichever oracle is used, e.g. for candidate lists of local search:
+    int[] getNearestNodes(int node, int count);
+
+}
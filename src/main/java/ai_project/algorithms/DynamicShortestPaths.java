@@ -0,0 +1,156 @@
+package ai_project.algorithms;
+
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.DistanceTable;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import ai_project.models.SuccessorTable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class DynamicShortestPaths {  // keeps all pairs shortest paths up to date while trail edges change
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+    private final static int SOURCES_PER_TASK = 16;
+
+    private final ShortestPaths shortestPaths;  // distances and successors are updated in place
+    private final ForkJoinPool pool;
+    private final int nodesCount;
+    private Graph graph;
+    private SolverMetrics metrics;  // null - nothing is measured
+
+    public DynamicShortestPaths(Graph graph, ShortestPaths shortestPaths) {
+        this(graph, shortestPaths, ForkJoinPool.commonPool());
+    }
+
+    // paths are updated in place, so mapped cache file can't be used - copy both tables with their copyOnHeap first:
+    public DynamicShortestPaths(Graph graph, ShortestPaths shortestPaths, ForkJoinPool pool) {
+        if (shortestPaths.getDistances().isReadOnly() || shortestPaths.getSuccessors().isReadOnly()) {
+            throw new IllegalArgumentException("Read-only shortest paths can't be updated, copy them on heap first");
+        }
+        this.graph = graph;
+        this.shortestPaths = shortestPaths;
+        this.pool = pool;
+        this.nodesCount = graph.getNodesCount();
+    }
+
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Graph getGraph() {  // graph with all changes applied
+        return graph;
+    }
+
+    public ShortestPaths getShortestPaths() {  // the same object that was passed to constructor
+        return shortestPaths;
+    }
+
+    // adds edge or changes its weight, true if any distance changed - callers rescore and update local search then:
+    public boolean setEdge(int from, int to, int weight) {
+        if (weight < 0) {
+            throw new IllegalArgumentException("Edge " + from + " -> " + to + " can't have negative weight");
+        }
+        int edge = graph.findEdge(from, to);
+        int oldWeight = edge >= 0 ? graph.getWeight(edge) : INFINITY;
+        if (weight == oldWeight) {
+            return false;
+        }
+        graph = graph.withEdge(from, to, weight);
+        return weight < oldWeight ? decreaseEdge(from, to, weight) : increaseEdge(from, to, oldWeight);
+    }
+
+    // true if any distance changed, unreachable pairs get Integer.MAX_VALUE - see isConnected():
+    public boolean removeEdge(int from, int to) {
+        int edge = graph.findEdge(from, to);
+        if (edge < 0) {
+            return false;
+        }
+        int oldWeight = graph.getWeight(edge);
+        graph = graph.withoutEdge(from, to);
+        return increaseEdge(from, to, oldWeight);
+    }
+
+    public boolean isConnected(int[] nodes) {  // every node reachable from every other, e.g. nodes of a tour
+        for (int from : nodes) {
+            for (int to : nodes) {
+                if (shortestPaths.getDistance(from, to) == INFINITY) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean decreaseEdge(int from, int to, int weight) {  // new path s -> ... -> from -> to -> ... -> t
+        DistanceTable distances = shortestPaths.getDistances();
+        SuccessorTable successors = shortestPaths.getSuccessors();
+        int[] distancesFromTo = new int[nodesCount];  // unchanged - path from 'to' through the edge would have a cycle
+        distances.getRow(to, distancesFromTo);
+        AtomicBoolean changed = new AtomicBoolean();
+        pool.invoke(new RangeTask(0, nodesCount, SOURCES_PER_TASK, (first, last) -> {
+            int[] row = null;  // created only if any source of this task is affected
+            for (int source = first; source < last; source++) {
+                int distanceToFrom = distances.get(source, from);
+                if (distanceToFrom == INFINITY || distanceToFrom + weight >= distances.get(source, to)) {
+                    continue;  // edge doesn't shorten path to 'to', so it doesn't shorten any path from this source
+                }
+                if (row == null) {
+                    row = new int[nodesCount];
+                }
+                distances.getRow(source, row);
+                int firstHop = source == from ? to : successors.get(source, from);
+                int distanceThroughEdge = distanceToFrom + weight;
+                for (int target = 0; target < nodesCount; target++) {
+                    if (distancesFromTo[target] != INFINITY
+                            && distanceThroughEdge + distancesFromTo[target] < row[target]) {
+                        row[target] = distanceThroughEdge + distancesFromTo[target];
+                        successors.set(source, target, firstHop);
+                    }
+                }
+                distances.setRow(source, row);
+                changed.set(true);
+            }
+        }));
+        return changed.get();
+    }
+
+    private boolean increaseEdge(int from, int to, int oldWeight) {  // only sources whose paths could use edge are searched
+        DistanceTable distances = shortestPaths.getDistances();
+        SuccessorTable successors = shortestPaths.getSuccessors();
+        AtomicBoolean changed = new AtomicBoolean();
+        pool.invoke(new RangeTask(0, nodesCount, SOURCES_PER_TASK, (first, last) -> {
+            IndexedMinHeap nodesToVisit = null;  // created only if any source of this task is affected
+            int[] row = null;
+            int[] distancesRow = null;
+            int[] successorsRow = null;
+            long expandedNodes = 0;
+            for (int source = first; source < last; source++) {
+                int distanceToFrom = distances.get(source, from);
+                if (distanceToFrom == INFINITY || distanceToFrom + oldWeight != distances.get(source, to)) {
+                    continue;  // edge isn't on any shortest path from this source
+                }
+                if (nodesToVisit == null) {
+                    nodesToVisit = new IndexedMinHeap(nodesCount);
+                    row = new int[nodesCount];
+                    distancesRow = new int[nodesCount];
+                    successorsRow = new int[nodesCount];
+                }
+                expandedNodes += AllPairsShortestPaths.dijkstra(graph, source, distancesRow, successorsRow, nodesToVisit);
+                distances.getRow(source, row);
+                if (!Arrays.equals(row, distancesRow)) {
+                    distances.setRow(source, distancesRow);
+                    changed.set(true);
+                }
+                successors.setRow(source, successorsRow);  // ties can be routed differently now
+            }
+            if (metrics != null) {
+                metrics.addSearchNodesExpanded(expandedNodes);
+            }
+        }));
+        return changed.get();
+    }
+
+}
@@ -0,0 +1,136 @@
+package ai_project.algorithms;
+
+public class EdgeRecombinationCrossover {  // EX operator (edge-3, Whitley, 2000), O(N) per child
+
+    private final static int MAX_NEIGHBOURS = 4;  // two neighbours in each parent
+
+    private final static ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private EdgeRecombinationCrossover() {
+    }
+
+    public static void cross(int[] parent1, int[] parent2, int[] child, RandomSource generator) {
+        cross(parent1, 0, parent2, 0, child, generator);
+    }
+
+    public static void cross(  // parents can be stored in flat arrays of many chromosomes
+            int[] parents1,
+            int parent1Offset,
+            int[] parents2,
+            int parent2Offset,
+            int[] child,
+            RandomSource generator
+    ) {
+        int genesCount = child.length;
+        Scratch scratch = SCRATCH.get();
+        scratch.reset(genesCount);
+
+        // fill edge table:
+        for (int i = 0; i < genesCount; i++) {
+            int previous = i == 0 ? genesCount - 1 : i - 1;
+            int next = i == genesCount - 1 ? 0 : i + 1;
+            scratch.addEdge(parents1[parent1Offset + i], parents1[parent1Offset + previous]);
+            scratch.addEdge(parents1[parent1Offset + i], parents1[parent1Offset + next]);
+            scratch.addEdge(parents2[parent2Offset + i], parents2[parent2Offset + previous]);
+            scratch.addEdge(parents2[parent2Offset + i], parents2[parent2Offset + next]);
+        }
+
+        int v = scratch.takeRandomGene(generator);  // first gene is random
+        child[0] = v;
+        for (int index = 1; index < genesCount; index++) {
+            int nextGene = -1;
+            int minEdges = Integer.MAX_VALUE;
+            for (int k = v * MAX_NEIGHBOURS; k < v * MAX_NEIGHBOURS + scratch.neighboursCount[v]; k++) {
+                int neighbour = scratch.neighbours[k];
+                if (scratch.common[k]) {  // if edge is common for both parents - we're using it
+                    nextGene = neighbour;
+                    break;
+                }
+                int neighbourEdges = scratch.neighboursCount[neighbour];
+                if (neighbourEdges > 0 && neighbourEdges < minEdges) {  // neighbour with minimum count of own edges
+                    minEdges = neighbourEdges;
+                    nextGene = neighbour;
+                }
+            }
+            if (nextGene < 0) {  // if new gene is not set yet - getting random one
+                v = scratch.takeRandomGene(generator);
+            } else {
+                v = nextGene;
+                scratch.takeGene(v);
+            }
+            child[index] = v;
+        }
+    }
+
+    private static class Scratch {  // reused by all crossovers on the same thread
+
+        private int[] neighbours = new int[0];  // [gene * MAX_NEIGHBOURS + k]
+        private boolean[] common = new boolean[0];  // edge at both parents
+        private int[] neighboursCount = new int[0];
+        private int[] genesToUse = new int[0];  // pool of genes not used in child yet
+        private int[] positionInPool = new int[0];
+        private int genesToUseCount;
+
+        private void reset(int genesCount) {
+            if (neighboursCount.length != genesCount) {
+                neighbours = new int[genesCount * MAX_NEIGHBOURS];
+                common = new boolean[genesCount * MAX_NEIGHBOURS];
+                neighboursCount = new int[genesCount];
+                genesToUse = new int[genesCount];
+                positionInPool = new int[genesCount];
+            }
+            for (int i = 0; i < genesCount; i++) {
+                neighboursCount[i] = 0;
+                genesToUse[i] = i;
+                positionInPool[i] = i;
+            }
+            genesToUseCount = genesCount;
+        }
+
+        private void addEdge(int gene, int neighbour) {
+            int first = gene * MAX_NEIGHBOURS;
+            for (int k = first; k < first + neighboursCount[gene]; k++) {
+                if (neighbours[k] == neighbour) {
+                    common[k] = true;
+                    return;
+                }
+            }
+            int k = first + neighboursCount[gene]++;
+            neighbours[k] = neighbour;
+            common[k] = false;
+        }
+
+        private int takeRandomGene(RandomSource generator) {
+            int gene = genesToUse[generator.nextInt(genesToUseCount)];
+            takeGene(gene);
+            return gene;
+        }
+
+        private void takeGene(int gene) {
+            // remove from pool:
+            int position = positionInPool[gene];
+            int last = genesToUse[--genesToUseCount];
+            genesToUse[position] = last;
+            positionInPool[last] = position;
+            // remove edges to this gene - edge table is symmetric, so only neighbours have to be checked:
+            for (int k = gene * MAX_NEIGHBOURS; k < gene * MAX_NEIGHBOURS + neighboursCount[gene]; k++) {
+                removeEdge(neighbours[k], gene);
+            }
+        }
+
+        private void removeEdge(int gene, int neighbour) {
+            int first = gene * MAX_NEIGHBOURS;
+            int last = first + neighboursCount[gene] - 1;
+            for (int k = first; k <= last; k++) {
+                if (neighbours[k] == neighbour) {
+                    neighbours[k] = neighbours[last];
+                    common[k] = common[last];
+                    neighboursCount[gene]--;
+                    return;
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package ai_project.algorithms;
+
+import ai_project.models.Node;
+
+import java.util.List;
+
+public class EuclideanHeuristic implements Heuristic {  // straight line in map pixels, not admissible for every map
+
+    private final int[] xPositions;
+    private final int[] yPositions;
+
+    public EuclideanHeuristic(List<Node> nodes) {
+        xPositions = new int[nodes.size()];
+        yPositions = new int[nodes.size()];
+        for (Node node : nodes) {
+            xPositions[node.getId()] = node.getxPos();
+            yPositions[node.getId()] = node.getyPos();
+        }
+    }
+
+    @Override
+    public int estimate(int node, int goal) {
+        long dx = xPositions[goal] - xPositions[node];
+        long dy = yPositions[goal] - yPositions[node];
+        return (int) Math.sqrt(dx * dx + dy * dy);
+    }
+
+}
@@ -1,26 +1,46 @@
 package ai_project.algorithms;
 
+import ai_project.models.FitnessHistory;
+import ai_project.models.GenerationSnapshot;
 import ai_project.models.Individual;
+import ai_project.models.PopulationStore;
+import ai_project.metrics.SolverMetrics;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 
 public class GeneticAlgorithm {
 
-    public static final Random GENERATOR = new Random();
+    private final static int PAIRS_PER_BREEDING_CHUNK = 16;  // every chunk has own generator, split in fixed order
 
     private final int population;
     private final int maxGenerationsCount;
     private final double crossFactor;
     private final double mutateFactor;
+    private final RandomSource generator;
 
-    private final List<List<Individual>> generations;
-    private final Set<Integer> nodes;
+    private final PopulationStore store;  // only current generation and the one being made are kept
+    private final ThreadLocal<int[]> child;  // offspring is built here before it's copied to store
+    private RandomSource[] chunkGenerators = new RandomSource[0];
+    private int generationsCount = 0;
+    private int bestInGeneration;  // index in current generation
     private int firstGenerationOfBestFit = 1;
-    private int[][] connectionsMatrix;
+    private final DistanceOracle distances;
     private int maxGenerationsWithNoImprovement;
 
     private Individual bestFit;
     private int generationsWithNoImprovement = 0;
+    private SelectionStrategy selection = new TournamentSelection(3);
+    private LocalSearch localSearch;  // null - offspring are not improved by local search
+    private ForkJoinPool breedingPool;  // null - generation is made on calling thread
+    private ProgressListener progressListener = ProgressListener.SILENT;
+    private Termination termination = new Termination();
+    private final BooleanSupplier interrupted = () -> termination.isInterrupted();
+    private SolverMetrics metrics;  // null - nothing is measured
+    private long startTime;
+    private FitnessHistory history;  // null - history is not kept
 
     public GeneticAlgorithm(
             int population,
@@ -29,128 +49,401 @@ public class GeneticAlgorithm {
             double crossFactor,
             double mutateFactor,
             int[][] connectionsMatrix
+    ) {
+        this(
+                population,
+                maxGenerationsCount,
+                maxGenerationsWithNoImprovement,
+                crossFactor,
+                mutateFactor,
+                connectionsMatrix,
+                new SplittableRandomSource()
+        );
+    }
+
+    public GeneticAlgorithm(
+            int population,
+            int maxGenerationsCount,
+            int maxGenerationsWithNoImprovement,
+            double crossFactor,
+            double mutateFactor,
+            int[][] connectionsMatrix,
+            RandomSource generator
+    ) {
+        this(
+                population,
+                maxGenerationsCount,
+                maxGenerationsWithNoImprovement,
+                crossFactor,
+                mutateFactor,
+                new MatrixDistanceOracle(connectionsMatrix),
+                generator
+        );
+    }
+
+    public GeneticAlgorithm(  // distances can be computed on demand, e.g. by LazyDistanceOracle
+            int population,
+            int maxGenerationsCount,
+            int maxGenerationsWithNoImprovement,
+            double crossFactor,
+            double mutateFactor,
+            DistanceOracle distances,
+            RandomSource generator
     ) {
         this.population = population;
         this.maxGenerationsCount = maxGenerationsCount;
         this.crossFactor = crossFactor;
         this.mutateFactor = mutateFactor;
-        this.generations = new ArrayList<>();
-        this.connectionsMatrix = connectionsMatrix;
+        this.generator = generator;
+        this.distances = distances;
         this.maxGenerationsWithNoImprovement = maxGenerationsWithNoImprovement;
-        nodes = new HashSet<>();
-        for (int i = 0; i < connectionsMatrix.length; i++) {
-            nodes.add(i);
+        this.store = new PopulationStore(population, distances.getNodesCount());
+        this.child = ThreadLocal.withInitial(() -> new int[distances.getNodesCount()]);
+    }
+
+    public Individual start() {  // returns best fit as soon as any stop condition is met
+        return run(true);
+    }
+
+    public Individual resume() {  // continues from current generation, e.g. after rescore()
+        return run(false);
+    }
+
+    public void rescore() {  // fitness evaluated again after distances were changed in place, not while running
+        if (localSearch != null) {
+            localSearch.updateCandidates();
         }
+        rescorePopulation();
     }
 
-    public Individual start() {
-        bestFit = setFirstGeneration();
-        printGeneration(1, bestFit);
-        while (
-                (generations.size() < maxGenerationsCount || maxGenerationsCount == -1)
-                        && (generationsWithNoImprovement <= maxGenerationsWithNoImprovement ||
-                        maxGenerationsWithNoImprovement == -1)
-        ) {
-            try {
-                Individual bestFitInGeneration = makeNewGeneration();
-                printGeneration(generations.size(), bestFitInGeneration);
-                if (bestFitInGeneration.compareTo(bestFit) > 0) {
-                    generationsWithNoImprovement = 0;
-                    bestFit = bestFitInGeneration;
-                    firstGenerationOfBestFit = generations.size();
-                } else {
-                    generationsWithNoImprovement++;
-                }
-            } catch (Throwable e) {
-                return bestFit;
+    void rescorePopulation() {  // islands update their shared local search only once
+        if (bestFit == null) {  // not started yet, there is no population
+            return;
+        }
+        int[] chromosomes = store.getChromosomes();
+        int genesCount = store.getGenesCount();
+        int[] chromosome = child.get();
+        for (int i = 0; i < population; i++) {
+            System.arraycopy(chromosomes, store.offset(i), chromosome, 0, genesCount);
+            store.setFitness(i, TourMoves.tourLength(distances, chromosome));
+        }
+        bestInGeneration = store.getBestIndividual();
+        int[] bestChromosome = bestFit.getChromosome();  // best fit may be gone from population, it's scored on its own
+        bestFit = new Individual(
+                mutateFactor,
+                distances,
+                bestChromosome,
+                TourMoves.tourLength(distances, bestChromosome)
+        );
+        if (store.getFitness(bestInGeneration) < bestFit.getFitness()) {
+            bestFit = getBestFitInGeneration();
+            firstGenerationOfBestFit = generationsCount;
+        }
+        generationsWithNoImprovement = 0;
+        if (metrics != null) {
+            metrics.addFitnessEvaluations(population + 1);
+        }
+        recordHistory();
+    }
+
+    public void setTimeLimit(long millis) {  // -1 - no limit, counted from start()
+        termination.setTimeLimitMillis(millis);
+    }
+
+    public void setTargetFitness(int fitness) {  // -1 - no target, search stops when tour is that short
+        termination.setTargetFitness(fitness);
+    }
+
+    public void setMaxMillisWithNoImprovement(long millis) {  // -1 - no limit
+        termination.setMaxMillisWithNoImprovement(millis);
+    }
+
+    public void cancel() {  // any thread, current or next run returns best fit found so far
+        termination.cancel();
+    }
+
+    public void setSelection(SelectionStrategy selection) {
+        this.selection = selection;
+    }
+
+    public void setLocalSearch(LocalSearch localSearch) {
+        this.localSearch = localSearch;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {  // ProgressListener.SILENT - no reports
+        this.progressListener = progressListener;
+    }
+
+    public void setMetrics(SolverMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public void setBreedingPool(ForkJoinPool breedingPool) {  // result for given seed doesn't depend on it
+        this.breedingPool = breedingPool;
+    }
+
+    public void setHistorySize(int size) {  // best fitness of last generations is kept for diagnostics
+        history = size > 0 ? new FitnessHistory(size) : null;
+    }
+
+    public FitnessHistory getHistory() {
+        return history;
+    }
+
+    void initialize() {
+        setFirstGeneration();
+        bestFit = getBestFitInGeneration();
+        firstGenerationOfBestFit = 1;
+        if (metrics != null) {
+            metrics.addFitnessEvaluations(population);
+            metrics.updateBestFitness(bestFit.getFitness());
+        }
+        recordHistory();
+    }
+
+    void setTermination(Termination termination) {  // islands share termination of the whole run
+        this.termination = termination;
+    }
+
+    boolean evolve() {  // makes one generation, returns true if best fit was improved
+        if (!makeNewGeneration()) {
+            return false;
+        }
+        boolean improved = store.getFitness(bestInGeneration) < bestFit.getFitness();
+        if (improved) {
+            generationsWithNoImprovement = 0;
+            bestFit = getBestFitInGeneration();
+            firstGenerationOfBestFit = generationsCount;
+            if (metrics != null) {
+                metrics.updateBestFitness(bestFit.getFitness());
             }
+        } else {
+            generationsWithNoImprovement++;
         }
-        System.out.println("--------------------------------------");
-        System.out.println("> BEST FIT FOUND IN GENERATION " + firstGenerationOfBestFit);
-        System.out.println("> " + bestFit);
-        System.out.println("> FITNESS = " + bestFit.getFitness() / 60 + " h " + bestFit.getFitness() % 60);
-        System.out.println("--------------------------------------\n");
+        recordHistory();
+        return improved;
+    }
+
+    int getBestFitnessInGeneration() {
+        return store.getFitness(bestInGeneration);
+    }
+
+    Individual getBestFitInGeneration() {  // copy, store is overwritten by next generations
+        return new Individual(
+                mutateFactor,
+                distances,
+                store.copyChromosome(bestInGeneration),
+                store.getFitness(bestInGeneration)
+        );
+    }
+
+    Individual getBestFit() {
         return bestFit;
     }
 
-    private Individual makeNewGeneration() {
-        List<Individual> newGeneration = new ArrayList<>();
-        Individual bestFitInGeneration = null;
-        List<Individual> sortedLastGeneration = sortGeneration(generations.size() - 1);
+    int getFirstGenerationOfBestFit() {
+        return firstGenerationOfBestFit;
+    }
 
-        int generationFitnessSum = sortedLastGeneration.stream()
-                .map(Individual::getFitness)
-                .reduce(Integer::sum)
-                .orElse(0);
+    List<Individual> getBestIndividuals(int count) {
+        int[] sortedGeneration = sortGeneration();
+        List<Individual> best = new ArrayList<>();
+        for (int i = Math.max(0, population - count); i < population; i++) {
+            int individual = sortedGeneration[i];
+            best.add(new Individual(
+                    mutateFactor,
+                    distances,
+                    store.copyChromosome(individual),
+                    store.getFitness(individual)
+            ));
+        }
+        return best;
+    }
 
-        int oldGenerationMinFitness = sortedLastGeneration.get(sortedLastGeneration.size() - 1).getFitness();
-        generationFitnessSum -= (oldGenerationMinFitness * population);
-        int[] oldGenerationIndividualsFitness = new int[population];
-        int partialSum = 0;
-        for (int i = 0; i < population; i++) {
-            if (generationFitnessSum > 0) {
-                int fitness = 100000 - (100000 * (sortedLastGeneration.get(i).getFitness() - oldGenerationMinFitness) / generationFitnessSum);
-                oldGenerationIndividualsFitness[i] = partialSum + fitness;
-                partialSum += fitness;
-            } else {
-                oldGenerationIndividualsFitness[i] = 100000 * (i + 1) / population;
+    void replaceWorstIndividuals(List<Individual> individuals) {  // worst individuals of current generation are replaced
+        int[] sortedGeneration = sortGeneration();
+        for (int i = 0; i < individuals.size() && i < population; i++) {
+            Individual individual = individuals.get(i);
+            store.set(sortedGeneration[i], individual.getChromosome(), individual.getFitness());
+            if (individual.compareTo(bestFit) > 0) {
+                bestFit = individual;
+                firstGenerationOfBestFit = generationsCount;
             }
         }
-        for (int i = 0; i < population; i++) {
-            int random = GENERATOR.nextInt(100000000);
-            int newIndividualNumber = 0;
-            for (int j = 0; j < population; j++) {
-                if (random < oldGenerationIndividualsFitness[j]) {
-                    break;
-                } else {
-                    newIndividualNumber = j;
+        bestInGeneration = store.getBestIndividual();
+    }
+
+    private Individual run(boolean fromFirstGeneration) {
+        startTime = System.nanoTime();
+        termination.start();
+        try {
+            progressListener.onStart();
+            try {
+                if (fromFirstGeneration || bestFit == null) {
+                    initialize();
                 }
+                reportGeneration();
+                while (
+                        (generationsCount < maxGenerationsCount || maxGenerationsCount == -1)
+                                && (generationsWithNoImprovement <= maxGenerationsWithNoImprovement ||
+                                maxGenerationsWithNoImprovement == -1)
+                                && !termination.isReached(bestFit.getFitness())
+                ) {
+                    try {
+                        if (evolve()) {
+                            termination.improved();
+                        }
+                        reportGeneration();
+                    } catch (Throwable e) {
+                        break;
+                    }
+                }
+            } finally {
+                progressListener.onFinish(getSnapshot());  // failed run too, e.g. reporter thread has to stop
             }
-            newGeneration.add(sortedLastGeneration.get(newIndividualNumber));
-            if (i % 2 == 1 && GENERATOR.nextDouble() < crossFactor) {
-                Individual child1 = newGeneration.get(i - 1).cross(newGeneration.get(i)).mutate();
-                Individual child2 = newGeneration.get(i).cross(newGeneration.get(i - 1)).mutate();
-                newGeneration.set(i - 1, child1);
-                newGeneration.set(i, child2);
-            }
-            if (bestFitInGeneration == null || newGeneration.get(i).compareTo(bestFitInGeneration) > 0) {
-                bestFitInGeneration = newGeneration.get(i);
+        } finally {
+            termination.finish();  // cancel() from now on is meant for the next run
+        }
+        return bestFit;
+    }
+
+    private boolean makeNewGeneration() {  // false if interrupted, current generation stays untouched then
+        long allocatedBefore = metrics != null ? SolverMetrics.getCurrentThreadAllocatedBytes() : -1;
+        long selectionStart = System.nanoTime();
+        selection.prepare(store.getFitness(), population);
+        long breedingStart = System.nanoTime();
+        int pairsCount = (population + 1) / 2;
+        int chunksCount = (pairsCount + PAIRS_PER_BREEDING_CHUNK - 1) / PAIRS_PER_BREEDING_CHUNK;
+        if (chunkGenerators.length != chunksCount) {
+            chunkGenerators = new RandomSource[chunksCount];
+        }
+        for (int chunk = 0; chunk < chunksCount; chunk++) {
+            chunkGenerators[chunk] = generator.split();
+        }
+        if (breedingPool == null || chunksCount == 1) {
+            breedChunks(0, chunksCount);
+        } else {
+            breedingPool.invoke(new RangeTask(0, chunksCount, 1, this::breedChunks));
+        }
+        if (termination.isInterrupted()) {  // next generation may be incomplete
+            return false;
+        }
+        store.swap();
+        bestInGeneration = store.getBestIndividual();
+        generationsCount++;
+        if (metrics != null) {  // allocation of pool threads is not included
+            long breedingEnd = System.nanoTime();
+            long allocatedAfter = SolverMetrics.getCurrentThreadAllocatedBytes();
+            metrics.addGeneration(
+                    breedingStart - selectionStart,
+                    breedingEnd - breedingStart,
+                    allocatedBefore >= 0 && allocatedAfter >= 0 ? allocatedAfter - allocatedBefore : -1
+            );
+        }
+        return true;
+    }
+
+    private void breedChunks(int fromChunk, int toChunk) {  // chunks write disjoint slots of next generation
+        for (int chunk = fromChunk; chunk < toChunk; chunk++) {
+            RandomSource chunkGenerator = chunkGenerators[chunk];
+            int fromPair = chunk * PAIRS_PER_BREEDING_CHUNK;
+            int toPair = Math.min(fromPair + PAIRS_PER_BREEDING_CHUNK, (population + 1) / 2);
+            for (int pair = fromPair; pair < toPair; pair++) {
+                if (termination.isInterrupted()) {
+                    return;
+                }
+                int first = 2 * pair;
+                int second = first + 1;
+                int parent1 = selection.select(chunkGenerator);
+                store.copyToNext(parent1, first);
+                if (second == population) {  // odd population - last one has no pair
+                    break;
+                }
+                int parent2 = selection.select(chunkGenerator);
+                store.copyToNext(parent2, second);
+                if (chunkGenerator.nextDouble() < crossFactor) {
+                    breed(parent1, parent2, first, chunkGenerator);
+                    breed(parent2, parent1, second, chunkGenerator);
+                }
             }
         }
-        generations.add(new ArrayList<>(newGeneration));
-        generations.add(generations.size() - 2, new ArrayList<>());
-        return bestFitInGeneration;
     }
 
-    private List<Individual> sortGeneration(int generationNumber) {
-        List<Individual> list = new ArrayList<>(generations.get(generationNumber));
-        list.sort(Individual::compareTo);
-        return list;
+    private void breed(int parent1, int parent2, int slot, RandomSource generator) {
+        long crossoverStart = metrics != null ? System.nanoTime() : 0;
+        int[] parents = store.getChromosomes();
+        int[] chromosome = child.get();
+        EdgeRecombinationCrossover.cross(parents, store.offset(parent1), parents, store.offset(parent2), chromosome, generator);
+        int fitness = TourMoves.tourLength(distances, chromosome);
+        long mutationStart = metrics != null ? System.nanoTime() : 0;
+        fitness = AdjacentSwapMutation.mutate(chromosome, fitness, mutateFactor, distances, generator);
+        long localSearchStart = metrics != null ? System.nanoTime() : 0;
+        if (localSearch != null) {
+            long change = localSearch.optimize(chromosome, interrupted);
+            fitness = TourMoves.applyChange(distances, chromosome, fitness, change);
+        }
+        store.setNext(slot, chromosome, fitness);
+        if (metrics != null) {
+            metrics.addOffspring(
+                    mutationStart - crossoverStart,
+                    localSearchStart - mutationStart,
+                    System.nanoTime() - localSearchStart
+            );
+            metrics.addFitnessEvaluations(1);
+        }
     }
 
-    private Individual setFirstGeneration() {
-        Set<Individual> firstGeneration = new HashSet<>();
-        Individual bestFitInGeneration = null;
+    private int[] sortGeneration() {  // indexes of current generation, worst first - used only by migration
+        int[] fitness = store.getFitness();
+        int[] sorted = new int[population];
+        for (int i = 0; i < population; i++) {  // insertion sort, stable like the list sort it replaces
+            int individual = i;
+            int j = i - 1;
+            while (j >= 0 && fitness[sorted[j]] < fitness[individual]) {
+                sorted[j + 1] = sorted[j];
+                j--;
+            }
+            sorted[j + 1] = individual;
+        }
+        return sorted;
+    }
+
+    private void setFirstGeneration() {
+        int genesCount = store.getGenesCount();
+        int[] chromosome = child.get();
         for (int i = 0; i < population; i++) {
-            Individual individual = new Individual(mutateFactor, nodes.size(), connectionsMatrix);
-            if (bestFitInGeneration == null || individual.compareTo(bestFitInGeneration) > 0) {
-                bestFitInGeneration = individual;
+            for (int k = 0; k < genesCount; k++) {
+                chromosome[k] = k;
+            }
+            for (int k = 0; k < genesCount; k++) {  // random permutation, Fisher-Yates
+                TourMoves.swap(chromosome, k, k + generator.nextInt(genesCount - k));
             }
-            firstGeneration.add(individual);
+            store.set(i, chromosome, TourMoves.tourLength(distances, chromosome));
+        }
+        bestInGeneration = store.getBestIndividual();
+        generationsCount = 1;
+    }
+
+    private void recordHistory() {
+        if (history != null) {
+            history.add(generationsCount, store.getFitness(bestInGeneration));
+        }
+    }
+
+    private void reportGeneration() {  // no snapshot is made for every generation if nobody listens
+        if (progressListener != ProgressListener.SILENT) {
+            progressListener.onGeneration(getSnapshot());
         }
-        generations.add(new ArrayList<>(firstGeneration));
-        return bestFitInGeneration;
     }
 
-    private void printGeneration(int generationNumber, Individual bestFitInGeneration) {
-        System.out.println("--------------------------------------");
-        System.out.println("> GENERATION " + generationNumber);
-        System.out.println("--------------------------------------");
-        System.out.println("> BEST FIT IN THIS GENERATION:");
-        System.out.println("> " + bestFitInGeneration);
-        System.out.println("> FITNESS = " + bestFitInGeneration.getFitness() / 60 + " h " + bestFitInGeneration.getFitness() % 60);
-        System.out.println("> BEST FITNESS TILL NOW = " + bestFit.getFitness() / 60 + " h " + bestFit.getFitness() % 60 + " (GENERATION " + firstGenerationOfBestFit + ")");
-        System.out.println("--------------------------------------\n");
+    private GenerationSnapshot getSnapshot() {
+        return new GenerationSnapshot(
+                generationsCount,
+                store.getFitness(bestInGeneration),
+                bestFit,
+                firstGenerationOfBestFit,
+                (System.nanoTime() - startTime) / 1000000
+        );
     }
 
 }
@@ -0,0 +1,7 @@
+package ai_project.algorithms;
+
+public interface Heuristic {  // estimated distance from node to goal, prepared once and shared by concurrent searches
+
+    int estimate(int node, int goal);
+
+}
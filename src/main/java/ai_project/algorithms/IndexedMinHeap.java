@@ -0,0 +1,122 @@
+package ai_project.algorithms;
+
+import java.util.Arrays;
+
+public class IndexedMinHeap {
+
+    private final int[] heap;  // position in heap -> id
+    private final int[] positions;  // id -> position in heap, -1 if id is not in heap
+    private final int[] keys;  // id -> key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        positions = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(positions, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    public int getKey(int id) {
+        return keys[id];
+    }
+
+    public int peekMin() {
+        return heap[0];
+    }
+
+    public int peekMinKey() {
+        return keys[heap[0]];
+    }
+
+    public void insert(int id, int key) {
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        siftUp(size++);
+    }
+
+    public void decreaseKey(int id, int key) {
+        keys[id] = key;
+        siftUp(positions[id]);
+    }
+
+    public void insertOrDecrease(int id, int key) {  // key has to be lower than current key of id in heap
+        if (contains(id)) {
+            decreaseKey(id, key);
+        } else {
+            insert(id, key);
+        }
+    }
+
+    public int pollMin() {
+        int min = heap[0];
+        positions[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            positions[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {  // O(size), heap can be reused by next search without reallocation
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int position) {
+        int id = heap[position];
+        int key = keys[id];
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+            int parent = heap[parentPosition];
+            if (keys[parent] <= key) {
+                break;
+            }
+            heap[position] = parent;
+            positions[parent] = position;
+            position = parentPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+    private void siftDown(int position) {
+        int id = heap[position];
+        int key = keys[id];
+        int half = size >>> 1;
+        while (position < half) {
+            int childPosition = 2 * position + 1;
+            int child = heap[childPosition];
+            int rightPosition = childPosition + 1;
+            if (rightPosition < size && keys[heap[rightPosition]] < keys[child]) {
+                childPosition = rightPosition;
+                child = heap[childPosition];
+            }
+            if (key <= keys[child]) {
+                break;
+            }
+            heap[position] = child;
+            positions[child] = position;
+            position = childPosition;
+        }
+        heap[position] = id;
+        positions[id] = position;
+    }
+
+}
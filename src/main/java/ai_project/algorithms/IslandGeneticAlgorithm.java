@@ -0,0 +1,289 @@
+package ai_project.algorithms;
+
+import ai_project.models.GenerationSnapshot;
+import ai_project.models.Individual;
+import ai_project.metrics.SolverMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class IslandGeneticAlgorithm {  // K populations evolving on own threads, best individuals migrate along a ring
+
+    private final int migrationInterval;
+    private final int migrantsCount;
+    private final int maxGenerationsCount;
+    private final int maxGenerationsWithNoImprovement;
+    private final List<GeneticAlgorithm> islands;
+    private final Termination termination = new Termination();  // shared by all islands
+    private final AtomicInteger epochGenerationsCount = new AtomicInteger();  // most generations any island evolved
+
+    private volatile boolean finished;  // any island can set it, the rest stop at their next generation
+    private volatile boolean stopped;  // set only between epochs, so all islands leave after the same epoch
+    private int generationsCount = 1;
+    private Individual bestFit;
+    private int firstGenerationOfBestFit = 1;
+    private int generationsWithNoImprovement = 0;
+    private ProgressListener progressListener = ProgressListener.SILENT;
+    private LocalSearch localSearch;  // null - offspring are not improved
+    private long startTime;
+
+    public IslandGeneticAlgorithm(
+            int islandsCount,
+            int migrationInterval,
+            int migrantsCount,
+            int population,
+            int maxGenerationsCount,
+            int maxGenerationsWithNoImprovement,
+            double crossFactor,
+            double mutateFactor,
+            int[][] connectionsMatrix,
+            RandomSource generator
+    ) {
+        this(
+                islandsCount,
+                migrationInterval,
+                migrantsCount,
+                population,
+                maxGenerationsCount,
+                maxGenerationsWithNoImprovement,
+                crossFactor,
+                mutateFactor,
+                new MatrixDistanceOracle(connectionsMatrix),
+                generator
+        );
+    }
+
+    public IslandGeneticAlgorithm(  // oracle has to be thread safe, all islands share it
+            int islandsCount,
+            int migrationInterval,
+            int migrantsCount,
+            int population,
+            int maxGenerationsCount,
+            int maxGenerationsWithNoImprovement,
+            double crossFactor,
+            double mutateFactor,
+            DistanceOracle distances,
+            RandomSource generator
+    ) {
+        this.migrationInterval = migrationInterval;
+        this.migrantsCount = migrantsCount;
+        this.maxGenerationsCount = maxGenerationsCount;
+        this.maxGenerationsWithNoImprovement = maxGenerationsWithNoImprovement;
+        islands = new ArrayList<>();
+        for (int i = 0; i < islandsCount; i++) {
+            islands.add(new GeneticAlgorithm(
+                    population,
+                    maxGenerationsCount,
+                    maxGenerationsWithNoImprovement,
+                    crossFactor,
+                    mutateFactor,
+                    distances,
+                    generator.split()  // every island has own generator, split in fixed order from the master one
+            ));
+            islands.get(i).setTermination(termination);
+        }
+    }
+
+    public void setTimeLimit(long millis) {  // -1 - no limit, counted from start()
+        termination.setTimeLimitMillis(millis);
+    }
+
+    public void setTargetFitness(int fitness) {  // -1 - no target
+        termination.setTargetFitness(fitness);
+    }
+
+    public void setMaxMillisWithNoImprovement(long millis) {  // -1 - no limit, checked at migrations
+        termination.setMaxMillisWithNoImprovement(millis);
+    }
+
+    public void cancel() {  // any thread, current or next run returns best fit found so far
+        termination.cancel();
+    }
+
+    public void setSelection(Supplier<SelectionStrategy> selection) {  // strategy keeps state of one generation
+        for (GeneticAlgorithm island : islands) {
+            island.setSelection(selection.get());
+        }
+    }
+
+    public void setLocalSearch(LocalSearch localSearch) {  // search is thread safe, all islands can share it
+        this.localSearch = localSearch;
+        for (GeneticAlgorithm island : islands) {
+            island.setLocalSearch(localSearch);
+        }
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {  // reported after every migration
+        this.progressListener = progressListener;
+    }
+
+    public void setMetrics(SolverMetrics metrics) {  // islands share counters
+        for (GeneticAlgorithm island : islands) {
+            island.setMetrics(metrics);
+        }
+    }
+
+    public void setBreedingPool(ForkJoinPool breedingPool) {  // islands can share one pool
+        for (GeneticAlgorithm island : islands) {
+            island.setBreedingPool(breedingPool);
+        }
+    }
+
+    public Individual start() {
+        return run(true);
+    }
+
+    public Individual resume() {  // continues from current populations, e.g. after rescore()
+        return run(false);
+    }
+
+    public void rescore() {  // fitness evaluated again after distances were changed in place, not while running
+        if (localSearch != null) {
+            localSearch.updateCandidates();
+        }
+        if (bestFit == null) {  // not started yet, there are no populations
+            return;
+        }
+        for (GeneticAlgorithm island : islands) {
+            island.rescorePopulation();
+        }
+        bestFit = null;
+        updateBestFit();
+        generationsWithNoImprovement = 0;
+    }
+
+    private Individual run(boolean fromFirstGeneration) {
+        finished = false;
+        stopped = false;
+        epochGenerationsCount.set(0);
+        startTime = System.nanoTime();
+        termination.start();
+        try {
+            progressListener.onStart();
+            try {
+                if (fromFirstGeneration || bestFit == null) {
+                    for (GeneticAlgorithm island : islands) {
+                        island.initialize();
+                    }
+                }
+                updateBestFit();
+                reportGeneration();
+                // barrier action runs on one thread while all islands wait - migration needs no other synchronization:
+                CyclicBarrier barrier = new CyclicBarrier(islands.size(), this::afterEpoch);
+                ExecutorService executor = Executors.newFixedThreadPool(islands.size());
+                List<Future<?>> workers = new ArrayList<>();
+                for (GeneticAlgorithm island : islands) {
+                    workers.add(executor.submit(() -> evolveIsland(island, barrier)));
+                }
+                try {
+                    for (Future<?> worker : workers) {
+                        worker.get();
+                    }
+                } catch (Throwable e) {
+                    finished = true;
+                } finally {
+                    executor.shutdownNow();
+                }
+            } finally {
+                progressListener.onFinish(getSnapshot());  // failed run too, e.g. reporter thread has to stop
+            }
+        } finally {
+            termination.finish();  // cancel() from now on is meant for the next run
+        }
+        return bestFit;
+    }
+
+    private void evolveIsland(GeneticAlgorithm island, CyclicBarrier barrier) {
+        try {
+            do {  // every island joins every epoch, even one already finished or failed
+                int evolved = 0;
+                try {
+                    while (evolved < migrationInterval && !finished) {
+                        island.evolve();
+                        evolved++;
+                        if (termination.isInterrupted()
+                                || termination.isTargetReached(island.getBestFit().getFitness())) {
+                            finished = true;  // other islands stop at their next generation
+                        }
+                    }
+                } catch (Throwable e) {
+                    finished = true;  // still arrives at barrier, so islands already waiting there are released
+                }
+                epochGenerationsCount.accumulateAndGet(evolved, Math::max);
+                barrier.await();
+            } while (!stopped);
+        } catch (InterruptedException | BrokenBarrierException e) {
+            finished = true;
+        }
+    }
+
+    private void afterEpoch() {  // islands stopped early by 'finished' count only generations they evolved
+        int evolved = epochGenerationsCount.getAndSet(0);
+        generationsCount += evolved;
+        migrate();
+        if (updateBestFit()) {
+            generationsWithNoImprovement = 0;
+            termination.improved();
+        } else {
+            generationsWithNoImprovement += evolved;
+        }
+        finished = finished
+                || (generationsCount >= maxGenerationsCount && maxGenerationsCount != -1)
+                || (generationsWithNoImprovement > maxGenerationsWithNoImprovement
+                && maxGenerationsWithNoImprovement != -1)
+                || termination.isReached(bestFit.getFitness());
+        stopped = finished;
+        reportGeneration();
+    }
+
+    private void migrate() {  // island i sends its best individuals to island i + 1
+        List<List<Individual>> migrants = new ArrayList<>();
+        for (GeneticAlgorithm island : islands) {
+            migrants.add(island.getBestIndividuals(migrantsCount));
+        }
+        for (int i = 0; i < islands.size(); i++) {
+            islands.get((i + 1) % islands.size()).replaceWorstIndividuals(migrants.get(i));
+        }
+    }
+
+    private boolean updateBestFit() {
+        boolean improved = false;
+        for (GeneticAlgorithm island : islands) {
+            if (bestFit == null || island.getBestFit().compareTo(bestFit) > 0) {
+                bestFit = island.getBestFit();
+                firstGenerationOfBestFit = generationsCount;
+                improved = true;
+            }
+        }
+        return improved;
+    }
+
+    private void reportGeneration() {
+        if (progressListener != ProgressListener.SILENT) {
+            progressListener.onGeneration(getSnapshot());
+        }
+    }
+
+    private GenerationSnapshot getSnapshot() {
+        int bestFitnessInGeneration = Integer.MAX_VALUE;
+        for (GeneticAlgorithm island : islands) {
+            bestFitnessInGeneration = Math.min(bestFitnessInGeneration, island.getBestFitnessInGeneration());
+        }
+        return new GenerationSnapshot(
+                generationsCount,
+                bestFitnessInGeneration,
+                bestFit,
+                firstGenerationOfBestFit,
+                (System.nanoTime() - startTime) / 1000000
+        );
+    }
+
+}
@@ -0,0 +1,82 @@
+package ai_project.algorithms;
+
+import ai_project.models.Graph;
+
+import java.util.Arrays;
+
+public class LandmarkHeuristic implements Heuristic {  // ALT - triangle inequality with distances to and from landmarks
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+
+    private final int landmarksCount;
+    private final int[] landmarks;
+    private final int[] fromLandmarks;  // [node * landmarksCount + l] - distance landmark -> node
+    private final int[] toLandmarks;  // [node * landmarksCount + l] - distance node -> landmark
+
+    public LandmarkHeuristic(Graph graph, int landmarksCount) {  // landmarks picked by farthest selection
+        int nodesCount = graph.getNodesCount();
+        this.landmarksCount = Math.min(landmarksCount, nodesCount);
+        landmarks = new int[this.landmarksCount];
+        fromLandmarks = new int[nodesCount * this.landmarksCount];
+        toLandmarks = new int[nodesCount * this.landmarksCount];
+        Graph reversed = graph.reverse();
+        IndexedMinHeap nodesToVisit = new IndexedMinHeap(nodesCount);
+        int[] distances = new int[nodesCount];
+        int[] successors = new int[nodesCount];
+        int[] distanceToClosestLandmark = new int[nodesCount];
+        AllPairsShortestPaths.dijkstra(graph, 0, distances, successors, nodesToVisit);
+        Arrays.fill(distanceToClosestLandmark, INFINITY);
+        int landmark = farthest(distances, distanceToClosestLandmark, 0);
+        for (int l = 0; l < this.landmarksCount; l++) {
+            landmarks[l] = landmark;
+            AllPairsShortestPaths.dijkstra(graph, landmark, distances, successors, nodesToVisit);
+            for (int node = 0; node < nodesCount; node++) {
+                fromLandmarks[node * this.landmarksCount + l] = distances[node];
+                distanceToClosestLandmark[node] = Math.min(distanceToClosestLandmark[node], distances[node]);
+            }
+            distanceToClosestLandmark[landmark] = 0;  // also if it's unreachable from itself in other direction
+            AllPairsShortestPaths.dijkstra(reversed, landmark, distances, successors, nodesToVisit);
+            for (int node = 0; node < nodesCount; node++) {
+                toLandmarks[node * this.landmarksCount + l] = distances[node];
+            }
+            landmark = farthest(distanceToClosestLandmark, distanceToClosestLandmark, landmark);
+        }
+    }
+
+    public int[] getLandmarks() {
+        return landmarks.clone();
+    }
+
+    @Override
+    public int estimate(int node, int goal) {
+        int nodeRow = node * landmarksCount;
+        int goalRow = goal * landmarksCount;
+        int estimate = 0;
+        for (int l = 0; l < landmarksCount; l++) {
+            int fromLandmarkToNode = fromLandmarks[nodeRow + l];
+            int fromLandmarkToGoal = fromLandmarks[goalRow + l];
+            if (fromLandmarkToNode != INFINITY && fromLandmarkToGoal != INFINITY) {  // d(L, goal) - d(L, node)
+                estimate = Math.max(estimate, fromLandmarkToGoal - fromLandmarkToNode);
+            }
+            int fromNodeToLandmark = toLandmarks[nodeRow + l];
+            int fromGoalToLandmark = toLandmarks[goalRow + l];
+            if (fromNodeToLandmark != INFINITY && fromGoalToLandmark != INFINITY) {  // d(node, L) - d(goal, L)
+                estimate = Math.max(estimate, fromNodeToLandmark - fromGoalToLandmark);
+            }
+        }
+        return estimate;
+    }
+
+    private static int farthest(int[] distances, int[] distanceToClosestLandmark, int fallback) {  // reachable only
+        int farthest = fallback;
+        int maxDistance = -1;
+        for (int node = 0; node < distances.length; node++) {
+            if (distances[node] != INFINITY && distanceToClosestLandmark[node] != 0 && distances[node] > maxDistance) {
+                maxDistance = distances[node];
+                farthest = node;
+            }
+        }
+        return farthest;
+    }
+
+}
@@ -0,0 +1,207 @@
+package ai_project.algorithms;
+
+import ai_project.metrics.SolverMetrics;
+import ai_project.models.Graph;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// distance of every pair of nodes searched on first use, bounded cache keeps only pairs that are used -
+// GA reads edges of tours and local search reads edges to candidates, far fewer than N x N:
+public class LazyDistanceOracle implements DistanceOracle {
+
+    private final static int WAYS = 8;  // pair can be cached only in one set of 8 slots, lookup reads at most 8
+    private final static int LOCKS = 64;  // sets are striped between locks, inserts into other sets don't wait
+    private final static int MAX_CACHED_PAIRS = 1 << 30;  // rounded up to power of 2 sets, still fits one array
+    private final static long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private final int nodesCount;
+    private final ThreadLocal<DijkstraSearch> search;  // bidirectional search for every missing pair
+    private final AtomicReferenceArray<CachedDistance> slots;  // set * WAYS + way, null - slot is empty
+    private final AtomicIntegerArray referenced;  // slot -> 1 if read again since clock hand of its set passed it
+    private final int[] clockHands;  // set -> way checked first at next eviction, guarded by lock of the set
+    private final Object[] locks = new Object[LOCKS];
+    private final int setMask;
+    private final LongAdder searchedPairsCount = new LongAdder();
+    private SolverMetrics metrics;  // null - nothing is measured
+
+    // about 32 bytes per cached pair (entry, its reference and reference bit), rounded up to power of 2 sets:
+    public LazyDistanceOracle(Graph graph, int maxCachedPairs) {
+        if (maxCachedPairs < 1 || maxCachedPairs > MAX_CACHED_PAIRS) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_CACHED_PAIRS + " pairs can be cached");
+        }
+        nodesCount = graph.getNodesCount();
+        Graph reversed = graph.reverse();  // shared by searches of all threads
+        search = ThreadLocal.withInitial(() -> {
+            DijkstraSearch dijkstraSearch = new DijkstraSearch(graph, reversed);
+            dijkstraSearch.setMetrics(metrics);
+            return dijkstraSearch;
+        });
+        int neededSets = (maxCachedPairs - 1) / WAYS + 1;
+        int setsCount = neededSets == 1 ? 1 : Integer.highestOneBit(neededSets - 1) << 1;
+        setMask = setsCount - 1;
+        slots = new AtomicReferenceArray<>(setsCount * WAYS);
+        referenced = new AtomicIntegerArray(setsCount * WAYS);
+        clockHands = new int[setsCount];
+        for (int i = 0; i < LOCKS; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public void setMetrics(SolverMetrics metrics) {  // before first query
+        this.metrics = metrics;
+    }
+
+    public int getCapacity() {  // pairs that can be cached at once
+        return slots.length();
+    }
+
+    public long getSearchedPairsCount() {  // pairs searched again after eviction are counted too
+        return searchedPairsCount.sum();
+    }
+
+    @Override
+    public int getNodesCount() {
+        return nodesCount;
+    }
+
+    @Override
+    public int getDistance(int from, int to) {  // cached pairs are read without locking
+        if (from == to) {
+            return 0;
+        }
+        long key = (long) from * nodesCount + to;
+        int set = getSet(key);
+        for (int slot = set * WAYS; slot < (set + 1) * WAYS; slot++) {
+            CachedDistance cached = slots.get(slot);
+            if (cached != null && cached.key == key) {
+                if (referenced.get(slot) == 0) {  // hot pairs are only read, no write contention
+                    referenced.lazySet(slot, 1);
+                }
+                return cached.distance;
+            }
+        }
+        searchedPairsCount.increment();
+        int distance = search.get().getDistance(from, to);
+        cache(key, set, distance);
+        return distance;
+    }
+
+    @Override
+    public int[] getPath(int from, int to) {  // not cached, paths are needed only for the final tour
+        return search.get().getPath(from, to);
+    }
+
+    @Override
+    public int[] getNearestNodes(int node, int count) {  // two searches, from node and towards it, stopped early
+        int nearestCount = Math.max(0, Math.min(count, nodesCount - 1));
+        if (nearestCount == 0) {
+            return new int[0];
+        }
+        long[] from = search.get().searchNearest(node, nearestCount, false);
+        long[] to = search.get().searchNearest(node, nearestCount, true);
+        for (long key : from) {  // local search reads these pairs first
+            cache(node, (int) key, (int) (key >>> 32));
+        }
+        for (long key : to) {
+            cache((int) key, node, (int) (key >>> 32));
+        }
+        long[] keys = new long[from.length + to.length];
+        int keysCount = addCheaper(from, to, nearestCount, true, keys, 0);
+        keysCount = addCheaper(to, from, nearestCount, false, keys, keysCount);  // tied nodes are added already
+        Arrays.sort(keys, 0, keysCount);
+        int[] nearest = new int[nearestCount];
+        int found = Math.min(keysCount, nearestCount);
+        for (int k = 0; k < found; k++) {
+            nearest[k] = (int) keys[k];
+        }
+        if (found < nearestCount) {  // both searches reached every node they could, unreachable ones follow by id
+            int[] reachable = Arrays.copyOf(nearest, found);
+            Arrays.sort(reachable);
+            for (int other = 0; found < nearestCount; other++) {
+                if (other != node && Arrays.binarySearch(reachable, other) < 0) {
+                    nearest[found++] = other;
+                }
+            }
+        }
+        return nearest;
+    }
+
+    // adds keys of nodes which are cheaper this way than the other way - node missing in full other keys is
+    // farther that way than all of them, so if it's farther this way too, it can't be among nearest:
+    private static int addCheaper(long[] keys, long[] otherKeys, int count, boolean withTies, long[] cheaper,
+                                  int cheaperCount) {
+        long[] otherByNode = new long[otherKeys.length];
+        for (int k = 0; k < otherKeys.length; k++) {
+            otherByNode[k] = (otherKeys[k] & 0xFFFFFFFFL) << 32 | otherKeys[k] >>> 32;
+        }
+        Arrays.sort(otherByNode);
+        long otherLimit = otherKeys.length < count ? Long.MAX_VALUE : otherKeys[otherKeys.length - 1] >>> 32;
+        for (long key : keys) {
+            long distance = key >>> 32;
+            int k = Arrays.binarySearch(otherByNode, (key & 0xFFFFFFFFL) << 32);
+            k = k < 0 ? -k - 1 : k;
+            boolean inOther = k < otherByNode.length && otherByNode[k] >>> 32 == (key & 0xFFFFFFFFL);
+            long otherDistance = inOther ? otherByNode[k] & 0xFFFFFFFFL : Long.MAX_VALUE;
+            boolean isCheaper = distance < otherDistance || distance == otherDistance && withTies;
+            if (inOther ? isCheaper : distance <= otherLimit) {
+                cheaper[cheaperCount++] = key;
+            }
+        }
+        return cheaperCount;
+    }
+
+    private int getSet(long key) {  // Fibonacci hashing, pairs of neighbouring nodes land in different sets
+        return (int) ((key * HASH_MULTIPLIER) >>> 32) & setMask;
+    }
+
+    private void cache(int from, int to, int distance) {
+        long key = (long) from * nodesCount + to;
+        cache(key, getSet(key), distance);
+    }
+
+    private void cache(long key, int set, int distance) {
+        synchronized (locks[set % LOCKS]) {
+            int first = set * WAYS;
+            int free = -1;
+            for (int slot = first; slot < first + WAYS; slot++) {
+                CachedDistance cached = slots.get(slot);
+                if (cached == null) {
+                    free = free < 0 ? slot : free;
+                } else if (cached.key == key) {  // searched by other thread in the meantime
+                    return;
+                }
+            }
+            int slot = free >= 0 ? free : evict(set);
+            referenced.set(slot, 0);  // pair read only once is dropped at next pass of hand, before hot pairs
+            slots.set(slot, new CachedDistance(key, distance));
+        }
+    }
+
+    private int evict(int set) {  // CLOCK approximation of LRU inside set - pair not read since last pass is dropped
+        int first = set * WAYS;
+        while (true) {
+            int slot = first + clockHands[set];
+            clockHands[set] = (clockHands[set] + 1) % WAYS;
+            if (referenced.get(slot) == 0) {
+                return slot;
+            }
+            referenced.set(slot, 0);  // second chance
+        }
+    }
+
+    private static class CachedDistance {  // immutable, so readers see whole entry without locking
+
+        private final long key;  // from * N + to
+        private final int distance;
+
+        private CachedDistance(long key, int distance) {
+            this.key = key;
+            this.distance = distance;
+        }
+
+    }
+
+}
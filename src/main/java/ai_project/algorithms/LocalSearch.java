@@ -0,0 +1,241 @@
+package ai_project.algorithms;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+public class LocalSearch {  // 2-opt and Or-opt with candidate neighbour lists and don't-look bits, asymmetric costs
+
+    private final static int MAX_OR_OPT_SEGMENT = 3;
+    private final static int MIN_TOUR_SIZE = 5;
+    private final static BooleanSupplier NEVER = () -> false;
+
+    private final DistanceOracle distances;
+    private final int neighboursCount;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+    private int[][] candidates;  // nearest nodes of every node, can be fewer if the rest is unreachable
+
+    public LocalSearch(int[][] connectionsMatrix, int neighboursCount) {
+        this(new MatrixDistanceOracle(connectionsMatrix), neighboursCount);
+    }
+
+    public LocalSearch(DistanceOracle distances, int neighboursCount) {  // asks oracle for nearest nodes of every node
+        this.distances = distances;
+        this.neighboursCount = neighboursCount;
+        candidates = findCandidates();
+    }
+
+    public void updateCandidates() {  // after distances were changed in place, not while any search is running
+        candidates = findCandidates();
+    }
+
+    private int[][] findCandidates() {  // sorted by the oracle, e.g. bounded search per node instead of N x N reads
+        int[][] candidates = new int[distances.getNodesCount()][];
+        for (int node = 0; node < candidates.length; node++) {
+            candidates[node] = distances.getNearestNodes(node, neighboursCount);
+        }
+        return candidates;
+    }
+
+    // improves tour in place, returns length change (0 or negative), unreachable leg counts as Integer.MAX_VALUE:
+    public long optimize(int[] tour) {
+        return optimize(tour, NEVER);
+    }
+
+    public long optimize(int[] tour, BooleanSupplier interrupted) {  // tour is valid after every move, so it can stop
+        int n = tour.length;
+        if (n < MIN_TOUR_SIZE) {
+            return 0;
+        }
+        Scratch state = scratch.get();
+        state.reset(n);
+        state.load(tour, distances);
+        for (int node : tour) {  // every node starts with don't-look bit off
+            state.push(node);
+        }
+        long lengthChange = 0;
+        while (!state.isQueueEmpty() && !interrupted.getAsBoolean()) {
+            int node = state.poll();
+            long delta = twoOpt(tour, state, node);
+            if (delta == 0) {
+                delta = orOpt(tour, state, node);
+            }
+            if (delta < 0) {
+                lengthChange += delta;
+                state.push(node);
+            }
+        }
+        return lengthChange;
+    }
+
+    private long twoOpt(int[] tour, Scratch state, int a) {  // a -> b ... c -> d   becomes   a -> c ... b -> d
+        int n = tour.length;
+        int segmentStart = next(state.positions[a], n);
+        int b = tour[segmentStart];
+        int removedAB = distances.getDistance(a, b);
+        for (int c : candidates[a]) {
+            if (c == b || distances.getDistance(a, c) >= removedAB) {
+                continue;
+            }
+            int segmentEnd = state.positions[c];
+            int d = tour[next(segmentEnd, n)];
+            long delta = (long) distances.getDistance(a, c) + distances.getDistance(b, d)
+                    - removedAB - distances.getDistance(c, d)
+                    + state.backwardCost(segmentStart, segmentEnd) - state.forwardCost(segmentStart, segmentEnd);
+            if (delta < 0) {
+                reverse(tour, segmentStart, segmentEnd);
+                state.load(tour, distances);
+                state.push(a);
+                state.push(b);
+                state.push(c);
+                state.push(d);
+                return delta;
+            }
+        }
+        return 0;
+    }
+
+    private long orOpt(int[] tour, Scratch state, int first) {  // segment first ... last is moved between x and y
+        int n = tour.length;
+        int segmentStart = state.positions[first];
+        for (int length = 1; length <= MAX_OR_OPT_SEGMENT && length + 3 <= n; length++) {
+            int segmentEnd = (segmentStart + length - 1) % n;
+            int last = tour[segmentEnd];
+            int p = tour[previous(segmentStart, n)];
+            int q = tour[next(segmentEnd, n)];
+            long removalGain = (long) distances.getDistance(p, first) + distances.getDistance(last, q)
+                    - distances.getDistance(p, q);
+            for (int candidate : candidates[first]) {
+                for (int side = 0; side < 2; side++) {  // insert after or before candidate
+                    int x = side == 0 ? candidate : tour[previous(state.positions[candidate], n)];
+                    int y = tour[next(state.positions[x], n)];
+                    if (inSegment(state.positions[x], segmentStart, length, n)
+                            || inSegment(state.positions[y], segmentStart, length, n)) {
+                        continue;
+                    }
+                    long delta = (long) distances.getDistance(x, first) + distances.getDistance(last, y)
+                            - distances.getDistance(x, y) - removalGain;
+                    if (delta < 0) {
+                        moveSegment(tour, state, segmentStart, length, x);
+                        state.load(tour, distances);
+                        state.push(p);
+                        state.push(q);
+                        state.push(x);
+                        state.push(y);
+                        state.push(last);
+                        return delta;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static void reverse(int[] tour, int start, int end) {  // positions start ... end, can wrap around
+        int n = tour.length;
+        int length = (end - start + n) % n + 1;
+        for (int k = 0; k < length / 2; k++) {
+            TourMoves.swap(tour, (start + k) % n, (end - k + n) % n);
+        }
+    }
+
+    private static void moveSegment(int[] tour, Scratch state, int segmentStart, int length, int x) {
+        int n = tour.length;
+        int[] buffer = state.buffer;
+        int written = 0;
+        int rest = (segmentStart + length) % n;
+        for (int k = 0; k < n - length; k++) {  // tour without segment, segment written right after x
+            int node = tour[(rest + k) % n];
+            buffer[written++] = node;
+            if (node == x) {
+                for (int l = 0; l < length; l++) {
+                    buffer[written++] = tour[(segmentStart + l) % n];
+                }
+            }
+        }
+        System.arraycopy(buffer, 0, tour, 0, n);
+    }
+
+    private static boolean inSegment(int position, int segmentStart, int length, int n) {
+        return (position - segmentStart + n) % n < length;
+    }
+
+    private static int next(int position, int n) {
+        return position + 1 < n ? position + 1 : 0;
+    }
+
+    private static int previous(int position, int n) {
+        return position > 0 ? position - 1 : n - 1;
+    }
+
+    private static class Scratch {  // reused by all searches on the same thread
+
+        private int n;
+        private int[] positions = new int[0];  // node -> position in tour
+        private long[] forward = new long[0];  // [k] - cost of tour[0] -> ... -> tour[k]
+        private long[] backward = new long[0];  // [k] - cost of tour[k] -> ... -> tour[0]
+        private long closingForward;  // tour[n - 1] -> tour[0]
+        private long closingBackward;  // tour[0] -> tour[n - 1]
+        private int[] queue = new int[0];  // nodes with don't-look bit off
+        private boolean[] inQueue = new boolean[0];
+        private int queueHead;
+        private int queueSize;
+        private int[] buffer = new int[0];
+
+        private void reset(int n) {
+            this.n = n;
+            if (positions.length != n) {
+                positions = new int[n];
+                forward = new long[n];
+                backward = new long[n];
+                queue = new int[n];
+                inQueue = new boolean[n];
+                buffer = new int[n];
+            }
+            Arrays.fill(inQueue, false);
+            queueHead = 0;
+            queueSize = 0;
+        }
+
+        private void load(int[] tour, DistanceOracle distances) {  // O(N), after every applied move
+            for (int k = 0; k < n; k++) {
+                positions[tour[k]] = k;
+                if (k > 0) {
+                    forward[k] = forward[k - 1] + distances.getDistance(tour[k - 1], tour[k]);
+                    backward[k] = backward[k - 1] + distances.getDistance(tour[k], tour[k - 1]);
+                }
+            }
+            closingForward = distances.getDistance(tour[n - 1], tour[0]);
+            closingBackward = distances.getDistance(tour[0], tour[n - 1]);
+        }
+
+        private long forwardCost(int start, int end) {  // edges inside segment start ... end
+            return start <= end ? forward[end] - forward[start] : forward[n - 1] - forward[start] + closingForward + forward[end];
+        }
+
+        private long backwardCost(int start, int end) {  // edges inside segment start ... end, walked backwards
+            return start <= end ? backward[end] - backward[start] : backward[n - 1] - backward[start] + closingBackward + backward[end];
+        }
+
+        private void push(int node) {
+            if (!inQueue[node]) {
+                inQueue[node] = true;
+                queue[(queueHead + queueSize) % n] = node;
+                queueSize++;
+            }
+        }
+
+        private int poll() {
+            int node = queue[queueHead];
+            queueHead = (queueHead + 1) % n;
+            queueSize--;
+            inQueue[node] = false;
+            return node;
+        }
+
+        private boolean isQueueEmpty() {
+            return queueSize == 0;
+        }
+
+    }
+
+}
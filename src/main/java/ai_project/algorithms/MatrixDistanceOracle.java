@@ -0,0 +1,59 @@
+package ai_project.algorithms;
+
+import ai_project.models.DistanceTable;
+import ai_project.models.ShortestPaths;
+
+import java.util.Arrays;
+
+public class MatrixDistanceOracle implements DistanceOracle {  // all distances precomputed, N x N in memory
+
+    private final DistanceTable distances;
+    private final ShortestPaths shortestPaths;  // null - only distances are known
+
+    public MatrixDistanceOracle(int[][] distances) {
+        this.distances = DistanceTable.ofRows(distances);
+        this.shortestPaths = null;
+    }
+
+    public MatrixDistanceOracle(ShortestPaths shortestPaths) {
+        this.distances = shortestPaths.getDistances();
+        this.shortestPaths = shortestPaths;
+    }
+
+    @Override
+    public int getNodesCount() {
+        return distances.getNodesCount();
+    }
+
+    @Override
+    public int getDistance(int from, int to) {
+        return distances.get(from, to);
+    }
+
+    @Override
+    public int[] getPath(int from, int to) {
+        if (shortestPaths == null) {
+            throw new UnsupportedOperationException("Only distances between nodes are known");
+        }
+        return shortestPaths.getPath(from, to);
+    }
+
+    @Override
+    public int[] getNearestNodes(int node, int count) {  // sorts all other nodes
+        int nodesCount = distances.getNodesCount();
+        long[] keys = new long[Math.max(0, nodesCount - 1)];  // distance high, node low - ties by id
+        for (int other = 0, k = 0; other < nodesCount; other++) {
+            if (other != node) {
+                long distance = Math.min(distances.get(node, other), distances.get(other, node));
+                keys[k++] = distance << 32 | other;
+            }
+        }
+        Arrays.sort(keys);
+        int[] nearest = new int[Math.max(0, Math.min(count, keys.length))];
+        for (int k = 0; k < nearest.length; k++) {
+            nearest[k] = (int) keys[k];
+        }
+        return nearest;
+    }
+
+}
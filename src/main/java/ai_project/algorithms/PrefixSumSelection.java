@@ -0,0 +1,38 @@
+package ai_project.algorithms;
+
+public class PrefixSumSelection extends RouletteSelection {  // O(N) prepare, binary search O(log N) select
+
+    private double[] prefixSums = new double[0];  // [i] - sum of weights 0 ... i
+    private int count;
+
+    @Override
+    public void prepare(int[] fitness, int count) {
+        this.count = count;
+        prepareWeights(fitness, count);
+        if (prefixSums.length != count) {
+            prefixSums = new double[count];
+        }
+        double sum = 0;
+        for (int i = 0; i < count; i++) {
+            sum += weights[i];
+            prefixSums[i] = sum;
+        }
+    }
+
+    @Override
+    public int select(RandomSource generator) {
+        double random = generator.nextDouble() * prefixSums[count - 1];
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {  // first prefix sum greater than random
+            int middle = (low + high) >>> 1;
+            if (prefixSums[middle] > random) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+}
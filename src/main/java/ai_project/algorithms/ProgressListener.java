@@ -0,0 +1,18 @@
+package ai_project.algorithms;
+
+import ai_project.models.GenerationSnapshot;
+
+public interface ProgressListener {  // called on algorithm thread, so it should return quickly
+
+    ProgressListener SILENT = snapshot -> {
+    };
+
+    default void onStart() {
+    }
+
+    void onGeneration(GenerationSnapshot snapshot);
+
+    default void onFinish(GenerationSnapshot snapshot) {
+    }
+
+}
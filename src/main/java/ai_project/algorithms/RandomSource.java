@@ -0,0 +1,11 @@
+package ai_project.algorithms;
+
+public interface RandomSource {  // not thread safe - every thread should use own source made with split()
+
+    int nextInt(int bound);
+
+    double nextDouble();
+
+    RandomSource split();  // new independent source, deterministic if this source is seeded
+
+}
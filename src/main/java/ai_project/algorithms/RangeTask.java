@@ -0,0 +1,38 @@
+package ai_project.algorithms;
+
+import java.util.concurrent.RecursiveAction;
+
+class RangeTask extends RecursiveAction {  // range is halved until it's small enough for one consumer call
+
+    interface RangeConsumer {
+        void accept(int from, int to);
+    }
+
+    private final static long serialVersionUID = 1L;
+
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final RangeConsumer consumer;
+
+    RangeTask(int from, int to, int threshold, RangeConsumer consumer) {
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.consumer = consumer;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            consumer.accept(from, to);
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+                new RangeTask(from, middle, threshold, consumer),
+                new RangeTask(middle, to, threshold, consumer)
+        );
+    }
+
+}
@@ -0,0 +1,32 @@
+package ai_project.algorithms;
+
+abstract class RouletteSelection implements SelectionStrategy {  // probability falls linearly with distance from best
+
+    double[] weights = new double[0];
+
+    double prepareWeights(int[] fitness, int count) {  // returns sum of weights
+        if (weights.length != count) {
+            weights = new double[count];
+        }
+        int minFitness = Integer.MAX_VALUE;
+        long fitnessSum = 0;
+        for (int i = 0; i < count; i++) {
+            minFitness = Math.min(minFitness, fitness[i]);
+            fitnessSum += fitness[i];
+        }
+        long distancesSum = fitnessSum - (long) minFitness * count;
+        if (distancesSum == 0) {  // all individuals are equally fit
+            for (int i = 0; i < count; i++) {
+                weights[i] = 1;
+            }
+            return count;
+        }
+        double weightsSum = 0;
+        for (int i = 0; i < count; i++) {
+            weights[i] = 1 - (double) (fitness[i] - minFitness) / distancesSum;
+            weightsSum += weights[i];
+        }
+        return weightsSum;
+    }
+
+}
@@ -0,0 +1,98 @@
+package ai_project.algorithms;
+
+import ai_project.models.ShortestPaths;
+import ai_project.models.ShortestPathTree;
+
+import java.util.Arrays;
+
+class SearchState {  // arrays reused by all searches of one thread, entry is valid only if stamped by current search
+
+    private final static int INFINITY = Integer.MAX_VALUE;
+
+    private final int[] distances;
+    private final int[] parents;  // previous node in direction of search
+    private final int[] stamps;
+    private final int[] marks;  // e.g. targets of search
+    private final IndexedMinHeap nodesToVisit;
+    private int stamp;
+
+    SearchState(int nodesCount) {
+        distances = new int[nodesCount];
+        parents = new int[nodesCount];
+        stamps = new int[nodesCount];
+        marks = new int[nodesCount];
+        nodesToVisit = new IndexedMinHeap(nodesCount);
+    }
+
+    void start(int source) {  // O(1) instead of clearing all arrays, unless stamps wrap around
+        if (stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            Arrays.fill(marks, 0);
+            stamp = 0;
+        }
+        stamp++;
+        nodesToVisit.clear();
+        stamps[source] = stamp;
+        distances[source] = 0;
+        parents[source] = ShortestPaths.NO_PATH;
+        nodesToVisit.insert(source, 0);
+    }
+
+    int getDistance(int node) {  // INFINITY if not reached yet
+        return stamps[node] == stamp ? distances[node] : INFINITY;
+    }
+
+    int getParent(int node) {
+        return stamps[node] == stamp ? parents[node] : ShortestPaths.NO_PATH;
+    }
+
+    boolean relax(int node, int parent, int distance) {  // true if distance of node was improved
+        return relax(node, parent, distance, distance);
+    }
+
+    boolean relax(int node, int parent, int distance, int key) {  // key e.g. with heuristic distance to goal
+        if (distance >= getDistance(node)) {
+            return false;
+        }
+        stamps[node] = stamp;
+        distances[node] = distance;
+        parents[node] = parent;
+        nodesToVisit.insertOrDecrease(node, key);
+        return true;
+    }
+
+    boolean hasNodesToVisit() {
+        return !nodesToVisit.isEmpty();
+    }
+
+    long getMinKey() {  // long, so sum of keys of two searches doesn't overflow
+        return nodesToVisit.isEmpty() ? INFINITY : nodesToVisit.peekMinKey();
+    }
+
+    int pollMin() {
+        return nodesToVisit.pollMin();
+    }
+
+    boolean mark(int node) {  // false if already marked in current search
+        if (marks[node] == stamp) {
+            return false;
+        }
+        marks[node] = stamp;
+        return true;
+    }
+
+    boolean isMarked(int node) {
+        return marks[node] == stamp;
+    }
+
+    ShortestPathTree toTree(int source) {  // copy, state is overwritten by next search
+        int[] treeDistances = new int[distances.length];
+        int[] predecessors = new int[distances.length];
+        for (int node = 0; node < distances.length; node++) {
+            treeDistances[node] = getDistance(node);
+            predecessors[node] = getParent(node);
+        }
+        return new ShortestPathTree(source, treeDistances, predecessors);
+    }
+
+}
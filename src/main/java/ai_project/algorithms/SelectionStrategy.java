@@ -0,0 +1,9 @@
+package ai_project.algorithms;
+
+public interface SelectionStrategy {  // lower fitness is better
+
+    void prepare(int[] fitness, int count);  // once per generation, before any select
+
+    int select(RandomSource generator);  // index of selected individual, safe to call from many threads
+
+}
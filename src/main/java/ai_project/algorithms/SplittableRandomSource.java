@@ -0,0 +1,40 @@
+package ai_project.algorithms;
+
+import java.util.SplittableRandom;
+
+public class SplittableRandomSource implements RandomSource {
+
+    private final SplittableRandom random;
+
+    public SplittableRandomSource() {
+        this(new SplittableRandom());
+    }
+
+    public SplittableRandomSource(long seed) {
+        this(new SplittableRandom(seed));
+    }
+
+    private SplittableRandomSource(SplittableRandom random) {
+        this.random = random;
+    }
+
+    public static RandomSource fromSeed(long seed) {  // seed -1 - not reproducible source
+        return seed == -1 ? new SplittableRandomSource() : new SplittableRandomSource(seed);
+    }
+
+    @Override
+    public int nextInt(int bound) {
+        return random.nextInt(bound);
+    }
+
+    @Override
+    public double nextDouble() {
+        return random.nextDouble();
+    }
+
+    @Override
+    public RandomSource split() {
+        return new SplittableRandomSource(random.split());
+    }
+
+}
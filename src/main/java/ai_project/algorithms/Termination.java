@@ -0,0 +1,58 @@
+package ai_project.algorithms;
+
+class Termination {  // stop conditions besides generation counts, -1 - condition not used
+
+    private long timeLimitNanos = -1;
+    private int targetFitness = -1;
+    private long maxNanosWithNoImprovement = -1;
+
+    private long startTime;
+    private volatile long lastImprovementTime;
+    private volatile boolean cancelled;
+
+    void setTimeLimitMillis(long millis) {
+        timeLimitNanos = millis < 0 ? -1 : millis * 1000000;
+    }
+
+    void setTargetFitness(int fitness) {
+        targetFitness = fitness;
+    }
+
+    void setMaxMillisWithNoImprovement(long millis) {
+        maxNanosWithNoImprovement = millis < 0 ? -1 : millis * 1000000;
+    }
+
+    void start() {  // cancel() called before start() stops this run right away
+        startTime = System.nanoTime();
+        lastImprovementTime = startTime;
+    }
+
+    void finish() {  // end of run, cancel() called so far was meant for it
+        cancelled = false;
+    }
+
+    void improved() {
+        lastImprovementTime = System.nanoTime();
+    }
+
+    void cancel() {  // any thread
+        cancelled = true;
+    }
+
+    boolean isReached(int bestFitness) {
+        return isInterrupted() || isTargetReached(bestFitness) || isStagnating();
+    }
+
+    boolean isInterrupted() {  // cheap enough to be checked inside generation, work in progress is dropped
+        return cancelled || (timeLimitNanos >= 0 && System.nanoTime() - startTime >= timeLimitNanos);
+    }
+
+    boolean isTargetReached(int bestFitness) {
+        return targetFitness >= 0 && bestFitness <= targetFitness;
+    }
+
+    boolean isStagnating() {
+        return maxNanosWithNoImprovement >= 0 && System.nanoTime() - lastImprovementTime >= maxNanosWithNoImprovement;
+    }
+
+}
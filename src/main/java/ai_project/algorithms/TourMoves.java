@@ -0,0 +1,101 @@
+package ai_project.algorithms;
+
+public class TourMoves {  // O(1) length change of moves on closed tour, costs can be asymmetric
+
+    // length of tour with a leg that has no path (distance Integer.MAX_VALUE), or too long for int:
+    public final static int UNREACHABLE = Integer.MAX_VALUE;
+
+    private TourMoves() {
+    }
+
+    public static int tourLength(DistanceOracle distances, int[] tour) {  // UNREACHABLE if any leg has no path
+        long length = 0;  // unreachable leg counts as Integer.MAX_VALUE, so the sum is at least UNREACHABLE
+        for (int i = 1; i < tour.length; i++) {
+            length += distances.getDistance(tour[i - 1], tour[i]);
+        }
+        length += distances.getDistance(tour[tour.length - 1], tour[0]);
+        return saturate(length);
+    }
+
+    // length after moves with given total delta - exact for reachable tours, counted again for unreachable ones:
+    public static int applyChange(DistanceOracle distances, int[] tour, int lengthBefore, long change) {
+        if (lengthBefore == UNREACHABLE) {  // real sum before saturation is unknown
+            return tourLength(distances, tour);
+        }
+        return saturate(lengthBefore + change);
+    }
+
+    private static int saturate(long length) {
+        return (int) Math.min(length, UNREACHABLE);
+    }
+
+    public static long adjacentSwapDelta(DistanceOracle distances, int[] tour, int i) {  // swap of i - 1 and i
+        int n = tour.length;
+        if (n < 3) {  // 2-node tour has the same length in both directions
+            return 0;
+        }
+        int previous = tour[i >= 2 ? i - 2 : i - 2 + n];
+        int first = tour[i - 1];
+        int second = tour[i];
+        int next = tour[i + 1 < n ? i + 1 : 0];
+        // previous -> first -> second -> next   becomes   previous -> second -> first -> next
+        return (long) distances.getDistance(previous, second)
+                + distances.getDistance(second, first)
+                + distances.getDistance(first, next)
+                - distances.getDistance(previous, first)
+                - distances.getDistance(first, second)
+                - distances.getDistance(second, next);
+    }
+
+    public static long swapDelta(DistanceOracle distances, int[] tour, int i, int j) {  // swap of any two positions
+        int n = tour.length;
+        if (i == j) {
+            return 0;
+        }
+        if (i > j) {
+            int temp = i;
+            i = j;
+            j = temp;
+        }
+        if (j == i + 1) {
+            return adjacentSwapDelta(distances, tour, j);
+        }
+        if (i == 0 && j == n - 1) {  // adjacent through the end of chromosome
+            return rotatedAdjacentSwapDelta(distances, tour);
+        }
+        int a = tour[i];
+        int b = tour[j];
+        int beforeA = tour[i == 0 ? n - 1 : i - 1];
+        int afterA = tour[i + 1];
+        int beforeB = tour[j - 1];
+        int afterB = tour[j + 1 < n ? j + 1 : 0];
+        return (long) distances.getDistance(beforeA, b) + distances.getDistance(b, afterA)
+                + distances.getDistance(beforeB, a) + distances.getDistance(a, afterB)
+                - distances.getDistance(beforeA, a) - distances.getDistance(a, afterA)
+                - distances.getDistance(beforeB, b) - distances.getDistance(b, afterB);
+    }
+
+    public static void swap(int[] tour, int i, int j) {
+        int temp = tour[i];
+        tour[i] = tour[j];
+        tour[j] = temp;
+    }
+
+    private static long rotatedAdjacentSwapDelta(DistanceOracle distances, int[] tour) {  // swap of last and first
+        int n = tour.length;
+        if (n < 3) {
+            return 0;
+        }
+        int previous = tour[n - 2];
+        int first = tour[n - 1];
+        int second = tour[0];
+        int next = tour[1];
+        return (long) distances.getDistance(previous, second)
+                + distances.getDistance(second, first)
+                + distances.getDistance(first, next)
+                - distances.getDistance(previous, first)
+                - distances.getDistance(first, second)
+                - distances.getDistance(second, next);
+    }
+
+}
@@ -0,0 +1,31 @@
+package ai_project.algorithms;
+
+public class TournamentSelection implements SelectionStrategy {  // best of k random individuals, O(k) select
+
+    private final int tournamentSize;
+    private int[] fitness;
+    private int count;
+
+    public TournamentSelection(int tournamentSize) {
+        this.tournamentSize = tournamentSize;
+    }
+
+    @Override
+    public void prepare(int[] fitness, int count) {
+        this.fitness = fitness;
+        this.count = count;
+    }
+
+    @Override
+    public int select(RandomSource generator) {
+        int best = generator.nextInt(count);
+        for (int i = 1; i < tournamentSize; i++) {
+            int competitor = generator.nextInt(count);
+            if (fitness[competitor] < fitness[best]) {
+                best = competitor;
+            }
+        }
+        return best;
+    }
+
+}
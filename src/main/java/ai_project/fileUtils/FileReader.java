@@ -1,85 +1,108 @@
 package ai_project.fileUtils;
 
+import ai_project.models.Graph;
 import ai_project.models.Node;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.zip.CRC32;
 
 public class FileReader {
 
-    private final static String MATRIX_FILE = "resources\\input_connection_matrix.txt";
-    private final static String NODE_NAMES_FILE = "resources\\input_node_names.txt";
+    private final static String MATRIX_FILE = Paths.get("resources", "input_connection_matrix.txt").toString();
+    private final static String NODE_NAMES_FILE = Paths.get("resources", "input_node_names.txt").toString();
 
-    private int[][] inputMatrix;
+    private final Path matrixFile;
+    private final Path nodeNamesFile;
+    private Graph graph;
     private List<Node> nodes;
 
     public FileReader() {
+        this(NODE_NAMES_FILE, MATRIX_FILE);
+    }
+
+    public FileReader(String nodeNamesFile, String matrixFile) {
+        this.nodeNamesFile = Paths.get(nodeNamesFile);
+        this.matrixFile = Paths.get(matrixFile);
         nodes = new ArrayList<>();
         readNodes();
-        inputMatrix = matrixFileReader(nodes.size());
     }
 
-    private void readNodes() {
-        File file = null;
-        Scanner reader;
-        try {
-            file = new File(NODE_NAMES_FILE);
-            reader = new Scanner(file);
-        } catch (IOException e) {
-            System.out.println("File " + file.getName() + " couldn't be opened!");
-            return;
-        }
-        reader.nextLine();  // header
-        while (reader.hasNext()) {
-            String nodeName = reader.nextLine();
-            int nodeId = Integer.valueOf(reader.nextLine());
-            int nodeXpos = Integer.valueOf(reader.nextLine());
-            int nodeYpos = Integer.valueOf(reader.nextLine());
-            nodes.add(new Node(nodeId, nodeName, nodeXpos, nodeYpos));
+    public long calculateInputChecksum() {  // CRC32 of both input files, -1 if any of them can't be read
+        CRC32 checksum = new CRC32();
+        for (Path file : new Path[]{nodeNamesFile, matrixFile}) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip();
+                    checksum.update(buffer);
+                    buffer.clear();
+                }
+            } catch (IOException e) {
+                return -1;
+            }
         }
-        reader.close();
+        return checksum.getValue();
     }
 
-    private int[][] matrixFileReader(int matrixSize) {
-        File file = null;
-        Scanner reader;
-        try {
-            file = new File(MATRIX_FILE);
-            reader = new Scanner(file);
+    private void readNodes() {
+        try (InputFileTokenizer reader = new InputFileTokenizer(nodeNamesFile)) {
+            reader.skipLine();  // header
+            while (reader.hasNext()) {
+                String nodeName = reader.nextLine();
+                int nodeId = reader.nextInt();
+                reader.endLine();
+                if (nodeId != nodes.size()) {  // node id is used as index in graph and matrices
+                    throw reader.error("expected node id " + nodes.size() + ", found " + nodeId);
+                }
+                int nodeXpos = reader.nextInt();
+                reader.endLine();
+                int nodeYpos = reader.nextInt();
+                reader.endLine();
+                nodes.add(new Node(nodeId, nodeName, nodeXpos, nodeYpos));
+            }
         } catch (IOException e) {
-            System.out.println("File " + file.getName() + " couldn't be opened!");
-            return new int[0][0];
+            System.out.println("File " + nodeNamesFile.getFileName() + " couldn't be opened!");
         }
-        int[][] input = new int[matrixSize][matrixSize];
-        for (int i = 0; i < matrixSize; i++) {
-            for (int j = 0; j < matrixSize; j++) {
-                if (i == j) {
-                    input[i][j] = 0;
-                } else {
-                    input[i][j] = Integer.MAX_VALUE;
+    }
+
+    private Graph matrixFileReader(int nodesCount) {
+        Graph.Builder graphBuilder = new Graph.Builder(nodesCount);
+        try (InputFileTokenizer reader = new InputFileTokenizer(matrixFile)) {
+            reader.skipLine();  // header
+            while (reader.hasNext()) {
+                int from = reader.nextInt();
+                int to = reader.nextInt();
+                int distance = reader.nextInt();
+                if (from < 0 || from >= nodesCount || to < 0 || to >= nodesCount) {
+                    throw reader.error("edge " + from + " -> " + to + " references unknown node");
                 }
+                if (distance < 0) {
+                    throw reader.error("negative cost " + distance);
+                }
+                graphBuilder.addEdge(from, to, distance);
             }
+        } catch (IOException e) {
+            System.out.println("File " + matrixFile.getFileName() + " couldn't be opened!");
         }
-        reader.nextLine();  // header
-        while (reader.hasNext()) {
-            int from = reader.nextInt();
-            int to = reader.nextInt();
-            int distance = reader.nextInt();
-            input[from][to] = distance;
-        }
-        reader.close();
-        return input;
+        return graphBuilder.build();
     }
 
-    public int[][] getInputMatrix() {
-        return inputMatrix;
+    public Graph getGraph() {  // connections file is parsed on first call only
+        if (graph == null) {
+            graph = matrixFileReader(nodes.size());
+        }
+        return graph;
     }
 
     public List<Node> getNodes() {
         return nodes;
     }
 
-}
\ No newline at end of file
+}
@@ -1,12 +1,13 @@
 package ai_project.fileUtils;
 
+import ai_project.models.DistanceTable;
+import ai_project.models.Graph;
 import ai_project.models.Node;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.List;
-import java.util.Map;
 
 @SuppressWarnings({"ResultOfMethodCallIgnored", "Duplicates"})
 public class FileWriter {
@@ -32,8 +33,8 @@ public class FileWriter {
         writer.close();
     }
 
-    public static void writeNodeListToFile(final List<Node> nodes) {
-        String nodesToWrite = nodesToString(nodes);
+    public static void writeNodeListToFile(final List<Node> nodes, final Graph graph) {
+        String nodesToWrite = nodesToString(nodes, graph);
         File file = new File(NODE_LIST_FILE);
         if (!file.exists()) {
             try {
@@ -49,7 +50,7 @@ public class FileWriter {
         writer.close();
     }
 
-    private static String nodesToString(final List<Node> nodes) {
+    private static String nodesToString(final List<Node> nodes, final Graph graph) {
         StringBuilder nodesAsString = new StringBuilder();
         for (Node node : nodes) {
             nodesAsString.append(node.getId());
@@ -60,19 +61,19 @@ public class FileWriter {
             nodesAsString.append(", ");
             nodesAsString.append(node.getyPos());
             nodesAsString.append("), edges to: ");
-            for (Map.Entry<Integer, Integer> child : node.getChildren().entrySet()) {
-                nodesAsString.append(child.getKey());
+            graph.forEachNeighbour(node.getId(), (target, weight) -> {
+                nodesAsString.append(target);
                 nodesAsString.append(" (");
-                nodesAsString.append(child.getValue());
+                nodesAsString.append(weight);
                 nodesAsString.append("), ");
-            }
+            });
             nodesAsString.append("\n");
         }
         return nodesAsString.toString();
     }
 
-    public static void writeMatrixToFile(final int[][] connectionsMatrix) {
-        String matrixToWrite = matrixToString(connectionsMatrix);
+    public static void writeMatrixToFile(final DistanceTable distances) {
+        String matrixToWrite = matrixToString(distances);
         File file = new File(MATRIX_OUTPUT_FILE);
         if (!file.exists()) {
             try {
@@ -88,19 +89,19 @@ public class FileWriter {
         writer.close();
     }
 
-    private static String matrixToString(final int[][] connectionsMatrix) {
+    private static String matrixToString(final DistanceTable distances) {
         StringBuilder matrix = new StringBuilder();
         matrix.append("\t");
-        for (int i = 0; i < connectionsMatrix.length; i++) {
+        for (int i = 0; i < distances.getNodesCount(); i++) {
             matrix.append(i);
             matrix.append("\t");
         }
-        for (int i = 0; i < connectionsMatrix.length; i++) {
+        for (int i = 0; i < distances.getNodesCount(); i++) {
             matrix.append("\n");
             matrix.append(i);
-            for (int j = 0; j < connectionsMatrix.length; j++) {
+            for (int j = 0; j < distances.getNodesCount(); j++) {
                 matrix.append("\t");
-                matrix.append(connectionsMatrix[i][j]);
+                matrix.append(distances.get(i, j));
             }
         }
         return matrix.toString();
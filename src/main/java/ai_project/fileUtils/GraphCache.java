@@ -0,0 +1,198 @@
+package ai_project.fileUtils;
+
+import ai_project.models.DistanceTable;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import ai_project.models.SuccessorTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+public class GraphCache {
+
+    // file layout (big endian):
+    //      header: magic, version, input files checksum (long), nodes count, edges count
+    //      graph: offsets (nodes count + 1), targets (edges count), weights (edges count)
+    //      shortest paths: distances (nodes count ^ 2), successors (nodes count ^ 2)
+    private final static int MAGIC = 0x41495043;  // "AIPC"
+    private final static int VERSION = 1;
+    private final static int HEADER_SIZE = 4 * Integer.BYTES + Long.BYTES;
+    private final static int WRITE_BUFFER_SIZE = 1 << 16;
+    private final static long MAX_WINDOW_BYTES = Integer.MAX_VALUE;  // limit of a single mapping
+
+    private final Path file;
+
+    public GraphCache(String fileName) {
+        file = Paths.get(fileName);
+    }
+
+    public Entry load(long inputChecksum) {  // null if there is no valid cache for given input files
+        if (inputChecksum < 0 || !file.toFile().exists()) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);  // checked before mapping, stale file isn't mapped
+            channel.read(header, 0);
+            header.flip();
+            if (header.remaining() < HEADER_SIZE
+                    || header.getInt() != MAGIC
+                    || header.getInt() != VERSION
+                    || header.getLong() != inputChecksum) {
+                return null;
+            }
+            int nodesCount = header.getInt();
+            int edgesCount = header.getInt();
+            long graphBytes = (long) Integer.BYTES * (nodesCount + 1 + 2L * edgesCount);
+            long tableBytes = (long) Integer.BYTES * nodesCount * nodesCount;
+            long expectedSize = HEADER_SIZE + graphBytes + 2 * tableBytes;
+            if (channel.size() != expectedSize) {
+                System.out.println("File " + file.getFileName() + " is corrupted, it will be rebuilt!");
+                return null;
+            }
+            long position = HEADER_SIZE;
+            int[] offsets = readInts(channel, position, nodesCount + 1);  // graph is built from arrays on heap
+            position += (long) Integer.BYTES * offsets.length;
+            int[] targets = readInts(channel, position, edgesCount);
+            position += (long) Integer.BYTES * edgesCount;
+            int[] weights = readInts(channel, position, edgesCount);
+            position += (long) Integer.BYTES * edgesCount;
+            int rowsPerWindow = rowsPerWindow(nodesCount);
+            // both tables stay mapped and are read on demand, nothing is copied:
+            IntBuffer[] distances = mapRows(channel, position, nodesCount, rowsPerWindow);
+            IntBuffer[] successors = mapRows(channel, position + tableBytes, nodesCount, rowsPerWindow);
+            return new Entry(
+                    Graph.fromArrays(offsets, targets, weights),
+                    new ShortestPaths(
+                            DistanceTable.wrap(nodesCount, distances, rowsPerWindow),
+                            SuccessorTable.wrap(nodesCount, successors, rowsPerWindow)
+                    )
+            );
+        } catch (IOException | RuntimeException e) {
+            System.out.println("File " + file.getFileName() + " couldn't be read!");
+            return null;
+        }
+    }
+
+    public void save(long inputChecksum, Graph graph, ShortestPaths shortestPaths) {
+        if (inputChecksum < 0) {
+            return;
+        }
+        int nodesCount = graph.getNodesCount();
+        try (FileChannel channel = FileChannel.open(
+                file,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING
+        )) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putLong(inputChecksum)
+                    .putInt(nodesCount)
+                    .putInt(graph.getEdgesCount());
+            for (int i = 0; i <= nodesCount; i++) {
+                putInt(channel, buffer, i < nodesCount ? graph.firstEdge(i) : graph.getEdgesCount());
+            }
+            for (int edge = 0; edge < graph.getEdgesCount(); edge++) {
+                putInt(channel, buffer, graph.getTarget(edge));
+            }
+            for (int edge = 0; edge < graph.getEdgesCount(); edge++) {
+                putInt(channel, buffer, graph.getWeight(edge));
+            }
+            for (int i = 0; i < nodesCount; i++) {
+                for (int j = 0; j < nodesCount; j++) {
+                    putInt(channel, buffer, shortestPaths.getDistance(i, j));
+                }
+            }
+            for (int i = 0; i < nodesCount; i++) {
+                for (int j = 0; j < nodesCount; j++) {
+                    putInt(channel, buffer, shortestPaths.getSuccessor(i, j));
+                }
+            }
+            flush(channel, buffer);
+        } catch (IOException e) {
+            System.out.println("File " + file.getFileName() + " couldn't be written!");
+        }
+    }
+
+    private static int[] readInts(FileChannel channel, long position, int count) throws IOException {
+        int[] values = new int[count];
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        for (int read = 0; read < count; ) {
+            buffer.clear().limit((int) Math.min(buffer.capacity(), (long) (count - read) * Integer.BYTES));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + (long) read * Integer.BYTES + buffer.position()) < 0) {
+                    throw new IOException("Unexpected end of file");
+                }
+            }
+            buffer.flip();
+            IntBuffer chunk = buffer.asIntBuffer();
+            int chunkLength = chunk.remaining();
+            chunk.get(values, read, chunkLength);
+            read += chunkLength;
+        }
+        return values;
+    }
+
+    private static int rowsPerWindow(int nodesCount) {  // as many whole rows as one mapping holds, power of 2
+        long rows = MAX_WINDOW_BYTES / ((long) Integer.BYTES * Math.max(nodesCount, 1));
+        return Integer.highestOneBit((int) Math.min(rows, 1 << 30));
+    }
+
+    // N x N table mapped in windows of whole rows, a single mapping can't be over 2 GB:
+    private static IntBuffer[] mapRows(FileChannel channel, long position, int nodesCount, int rowsPerWindow)
+            throws IOException {
+        IntBuffer[] windows = new IntBuffer[(nodesCount + rowsPerWindow - 1) / rowsPerWindow];
+        long rowBytes = (long) Integer.BYTES * nodesCount;
+        for (int i = 0; i < windows.length; i++) {
+            int rows = Math.min(rowsPerWindow, nodesCount - i * rowsPerWindow);
+            windows[i] = channel.map(
+                    FileChannel.MapMode.READ_ONLY,
+                    position + i * rowsPerWindow * rowBytes,
+                    rows * rowBytes
+            ).asIntBuffer();
+        }
+        return windows;
+    }
+
+    private static void putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+        if (buffer.remaining() < Integer.BYTES) {
+            flush(channel, buffer);
+        }
+        buffer.putInt(value);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public static class Entry {
+
+        private final Graph graph;
+        private final ShortestPaths shortestPaths;
+
+        private Entry(Graph graph, ShortestPaths shortestPaths) {
+            this.graph = graph;
+            this.shortestPaths = shortestPaths;
+        }
+
+        public Graph getGraph() {
+            return graph;
+        }
+
+        public ShortestPaths getShortestPaths() {
+            return shortestPaths;
+        }
+
+    }
+
+}
@@ -0,0 +1,216 @@
+package ai_project.fileUtils;
+
+import ai_project.models.Graph;
+import ai_project.models.Node;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+public class GraphGenerator {  // random connected trail maps of any size, in the same formats as input files
+
+    private final static int SPACING = 100;  // average distance between neighbouring nodes in pixels
+    private final static String NODE_NAMES_HEADER = "NAZWA,INDEX,XPOZ,YPOZ";
+    private final static String MATRIX_HEADER = "STARTINDEX\tENDINDEX\tCOST";
+
+    private final int nodesCount;
+    private final int degree;
+    private final double asymmetry;
+    private final SplittableRandom random;
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final Graph.Builder graphBuilder;
+    private final List<int[]> edges = new ArrayList<>();  // {from, to, cost}, in order of writing
+    private final Set<Long> roads = new HashSet<>();  // pairs of nodes already connected
+    private final int[] components;  // union-find parents
+
+    private int gridSide;  // nodes are bucketed in gridSide x gridSide cells, so nearest ones are found locally
+    private double cellSize;
+    private int[] cellStart;  // nodes of cell c are cellNodes[cellStart[c]] ... cellNodes[cellStart[c + 1] - 1]
+    private int[] cellNodes;
+
+    public GraphGenerator(int nodesCount, int degree, double asymmetry, long seed) {
+        // degree - roads from every node to nearest ones, asymmetry - max extra cost of each direction, e.g. 0.3
+        this.nodesCount = nodesCount;
+        this.degree = degree;
+        this.asymmetry = asymmetry;
+        this.random = new SplittableRandom(seed);
+        this.graphBuilder = new Graph.Builder(nodesCount);
+        this.components = new int[nodesCount];
+        generate();
+    }
+
+    public static void main(String[] args) {  // args: nodes count, degree, asymmetry, seed, node names file, matrix file
+        if (args.length < 6) {
+            System.out.println("Usage: GraphGenerator <nodes> <degree> <asymmetry> <seed> <node names file> <matrix file>");
+            return;
+        }
+        new GraphGenerator(
+                Integer.parseInt(args[0]),
+                Integer.parseInt(args[1]),
+                Double.parseDouble(args[2]),
+                Long.parseLong(args[3])
+        ).writeFiles(args[4], args[5]);
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public Graph getGraph() {
+        return graphBuilder.build();
+    }
+
+    public void writeFiles(String nodeNamesFile, String matrixFile) {
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(nodeNamesFile), StandardCharsets.UTF_8)) {
+            writer.write(NODE_NAMES_HEADER);
+            writer.newLine();
+            for (Node node : nodes) {
+                writer.write(node.getName() + "\n" + node.getId() + "\n" + node.getxPos() + "\n" + node.getyPos());
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.out.println("File " + nodeNamesFile + " couldn't be written!");
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(Paths.get(matrixFile), StandardCharsets.UTF_8)) {
+            writer.write(MATRIX_HEADER);
+            writer.newLine();
+            for (int[] edge : edges) {
+                writer.write(edge[0] + "\t" + edge[1] + "\t" + edge[2]);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.out.println("File " + matrixFile + " couldn't be written!");
+        }
+    }
+
+    private void generate() {
+        int side = (int) Math.ceil(Math.sqrt(nodesCount)) * SPACING;
+        for (int i = 0; i < nodesCount; i++) {
+            nodes.add(new Node(i, "Node " + i, random.nextInt(side), random.nextInt(side)));
+            components[i] = i;
+        }
+        buildGrid(side);
+        int[] nearest = new int[degree];
+        for (int i = 0; i < nodesCount; i++) {  // short roads to nearest nodes keep the map almost planar
+            int found = findNearest(i, nearest, -1);
+            for (int k = 0; k < found; k++) {
+                addRoad(i, nearest[k]);
+            }
+        }
+        int[] outside = new int[1];
+        for (int i = 0; i < nodesCount; i++) {  // separated parts are joined by roads to nearest node outside them
+            while (findComponent(i) != findComponent(0) && findNearest(i, outside, findComponent(i)) > 0) {
+                addRoad(i, outside[0]);
+            }
+        }
+    }
+
+    private void buildGrid(int side) {  // one node per cell on average
+        gridSide = Math.max(1, (int) Math.sqrt(nodesCount));
+        cellSize = (double) side / gridSide;
+        int cellsCount = gridSide * gridSide;
+        int[] cellOfNode = new int[nodesCount];
+        cellStart = new int[cellsCount + 1];
+        for (Node node : nodes) {
+            int cell = cell(node.getxPos()) * gridSide + cell(node.getyPos());
+            cellOfNode[node.getId()] = cell;
+            cellStart[cell + 1]++;
+        }
+        for (int c = 0; c < cellsCount; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        cellNodes = new int[nodesCount];
+        int[] written = Arrays.copyOf(cellStart, cellsCount);
+        for (int i = 0; i < nodesCount; i++) {
+            cellNodes[written[cellOfNode[i]]++] = i;
+        }
+    }
+
+    private int findNearest(int node, int[] nearest, int excludedComponent) {  // returns count of nodes found
+        // rings of cells around node are searched until next ring can't hold anything closer:
+        Node from = nodes.get(node);
+        int cx = cell(from.getxPos());
+        int cy = cell(from.getyPos());
+        long[] distances = new long[nearest.length];
+        int found = 0;
+        for (int ring = 0; ring <= gridSide; ring++) {
+            double reach = (ring - 1) * cellSize;  // every node that close to node was already checked
+            if (found == nearest.length && reach * reach >= distances[found - 1]) {
+                break;
+            }
+            for (int x = Math.max(0, cx - ring); x <= Math.min(gridSide - 1, cx + ring); x++) {
+                for (int y = Math.max(0, cy - ring); y <= Math.min(gridSide - 1, cy + ring); y++) {
+                    if (Math.abs(x - cx) != ring && Math.abs(y - cy) != ring) {  // inner cell, checked before
+                        continue;
+                    }
+                    int c = x * gridSide + y;
+                    for (int k = cellStart[c]; k < cellStart[c + 1]; k++) {
+                        int candidate = cellNodes[k];
+                        if (candidate == node || findComponent(candidate) == excludedComponent) {
+                            continue;
+                        }
+                        long distance = squaredDistance(from, nodes.get(candidate));
+                        int position = found;
+                        while (position > 0 && distances[position - 1] > distance) {
+                            position--;
+                        }
+                        if (position < nearest.length) {  // sorted insert, the farthest one drops out if full
+                            int moved = Math.min(found, nearest.length - 1) - position;
+                            System.arraycopy(nearest, position, nearest, position + 1, moved);
+                            System.arraycopy(distances, position, distances, position + 1, moved);
+                            nearest[position] = candidate;
+                            distances[position] = distance;
+                            found = Math.min(found + 1, nearest.length);
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int cell(int position) {
+        return Math.min(gridSide - 1, (int) (position / cellSize));
+    }
+
+    private void addRoad(int a, int b) {
+        if (!roads.add(((long) Math.min(a, b) << 32) | Math.max(a, b))) {
+            return;
+        }
+        int length = (int) Math.ceil(Math.sqrt(squaredDistance(nodes.get(a), nodes.get(b))));
+        addEdge(a, b, length);
+        addEdge(b, a, length);
+        components[findComponent(a)] = findComponent(b);
+    }
+
+    private void addEdge(int from, int to, int length) {
+        // cost is never below straight line distance - Euclidean heuristic of A* stays admissible:
+        int cost = Math.max(1, length + (int) (length * asymmetry * random.nextDouble()));
+        graphBuilder.addEdge(from, to, cost);
+        edges.add(new int[]{from, to, cost});
+    }
+
+    private int findComponent(int node) {
+        while (components[node] != node) {
+            components[node] = components[components[node]];  // path halving
+            node = components[node];
+        }
+        return node;
+    }
+
+    private static long squaredDistance(Node a, Node b) {
+        long dx = a.getxPos() - b.getxPos();
+        long dy = a.getyPos() - b.getyPos();
+        return dx * dx + dy * dy;
+    }
+
+}
@@ -0,0 +1,24 @@
+package ai_project.fileUtils;
+
+public class InputFileException extends RuntimeException {
+
+    private final static long serialVersionUID = 1L;
+
+    private final String fileName;
+    private final int lineNumber;
+
+    public InputFileException(String fileName, int lineNumber, String message) {
+        super(fileName + ", line " + lineNumber + ": " + message);
+        this.fileName = fileName;
+        this.lineNumber = lineNumber;
+    }
+
+    public String getFileName() {
+        return fileName;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+}
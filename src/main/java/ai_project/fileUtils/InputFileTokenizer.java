@@ -0,0 +1,156 @@
+package ai_project.fileUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+class InputFileTokenizer implements Closeable {  // reads input files straight from bytes, without Scanner's regexes
+
+    private final static int BUFFER_SIZE = 1 << 16;
+    private final static int END_OF_FILE = -1;
+
+    private final String fileName;
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private byte[] lineBytes = new byte[64];
+    private int lineNumber = 1;
+
+    InputFileTokenizer(Path file) throws IOException {
+        fileName = file.getFileName().toString();
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        buffer.flip();
+    }
+
+    boolean hasNext() throws IOException {  // skips whitespace, also empty lines
+        skipWhitespace();
+        return peek() != END_OF_FILE;
+    }
+
+    String nextLine() throws IOException {
+        int length = 0;
+        int nextByte = peek();
+        if (nextByte == END_OF_FILE) {
+            throw error("unexpected end of file");
+        }
+        while (nextByte != END_OF_FILE && nextByte != '\n') {
+            if (length == lineBytes.length) {
+                lineBytes = Arrays.copyOf(lineBytes, length * 2);
+            }
+            lineBytes[length++] = (byte) nextByte;
+            advance();
+            nextByte = peek();
+        }
+        advance();  // '\n'
+        if (length > 0 && lineBytes[length - 1] == '\r') {
+            length--;
+        }
+        return new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    void skipLine() throws IOException {
+        int nextByte = peek();
+        while (nextByte != END_OF_FILE && nextByte != '\n') {
+            advance();
+            nextByte = peek();
+        }
+        advance();
+    }
+
+    int nextInt() throws IOException {
+        skipWhitespace();
+        boolean negative = false;
+        if (peek() == '-') {
+            negative = true;
+            advance();
+        }
+        int nextByte = peek();
+        if (nextByte < '0' || nextByte > '9') {
+            throw error("expected integer, found " + describe(nextByte));
+        }
+        long value = 0;
+        while (nextByte >= '0' && nextByte <= '9') {
+            value = value * 10 + (nextByte - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw error("integer out of range");
+            }
+            advance();
+            nextByte = peek();
+        }
+        if (nextByte != END_OF_FILE && !isWhitespace(nextByte)) {
+            throw error("expected integer, found " + describe(nextByte));
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw error("integer out of range");
+        }
+        return (int) value;
+    }
+
+    void endLine() throws IOException {  // only whitespace can be left in current line
+        int nextByte = peek();
+        while (nextByte == ' ' || nextByte == '\t' || nextByte == '\r') {
+            advance();
+            nextByte = peek();
+        }
+        if (nextByte != END_OF_FILE && nextByte != '\n') {
+            throw error("unexpected " + describe(nextByte) + " at the end of line");
+        }
+        advance();
+    }
+
+    InputFileException error(String message) {
+        return new InputFileException(fileName, lineNumber, message);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void skipWhitespace() throws IOException {
+        int nextByte = peek();
+        while (nextByte != END_OF_FILE && isWhitespace(nextByte)) {
+            advance();
+            nextByte = peek();
+        }
+    }
+
+    private int peek() throws IOException {
+        while (!buffer.hasRemaining()) {
+            buffer.clear();
+            int read = channel.read(buffer);
+            buffer.flip();
+            if (read < 0) {
+                return END_OF_FILE;
+            }
+        }
+        return buffer.get(buffer.position()) & 0xFF;
+    }
+
+    private void advance() {  // peek() has to be called before
+        if (buffer.hasRemaining() && buffer.get() == '\n') {
+            lineNumber++;
+        }
+    }
+
+    private static boolean isWhitespace(int nextByte) {
+        return nextByte == ' ' || nextByte == '\t' || nextByte == '\n' || nextByte == '\r';
+    }
+
+    private static String describe(int nextByte) {
+        if (nextByte == END_OF_FILE) {
+            return "end of file";
+        }
+        if (nextByte == '\n' || nextByte == '\r') {
+            return "end of line";
+        }
+        return "'" + (char) nextByte + "'";
+    }
+
+}
@@ -0,0 +1,142 @@
+package ai_project.metrics;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class MetricsDumper implements AutoCloseable {  // appends one row of metrics every interval, for convergence charts
+
+    public enum Format {
+        CSV,
+        JSON  // one object per line
+    }
+
+    private final static String CSV_HEADER = "uptime_ms,parsing_ms,shortest_paths_ms,search_nodes_expanded,"
+            + "generations,generations_per_s,crossovers,crossovers_per_s,fitness_evaluations,selection_ms,"
+            + "breeding_ms,crossover_ms,mutation_ms,local_search_ms,allocated_bytes_per_generation,best_fitness";
+
+    private final SolverMetrics metrics;
+    private final String fileName;
+    private final Format format;
+    private final long intervalMillis;
+
+    private ScheduledExecutorService executor;
+    private BufferedWriter writer;
+    private long lastUptime;
+    private long lastGenerations;
+    private long lastCrossovers;
+
+    public MetricsDumper(SolverMetrics metrics, String fileName, Format format, long intervalMillis) {
+        this.metrics = metrics;
+        this.fileName = fileName;
+        this.format = format;
+        this.intervalMillis = intervalMillis;
+    }
+
+    public void start() {
+        try {
+            writer = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8);
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            System.out.println("File " + fileName + " couldn't be opened!");
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dumper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::dump, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {  // writes last row, so short runs have at least one
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(intervalMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dump();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            System.out.println("File " + fileName + " couldn't be closed!");
+        }
+        executor = null;
+    }
+
+    private synchronized void dump() {
+        long uptime = metrics.getUptimeMillis();
+        long generations = metrics.getGenerations();
+        long crossovers = metrics.getCrossovers();
+        // rates since previous row, averages since start are available in JMX:
+        double seconds = Math.max(uptime - lastUptime, 1) / 1000.0;
+        double generationsPerSecond = (generations - lastGenerations) / seconds;
+        double crossoversPerSecond = (crossovers - lastCrossovers) / seconds;
+        lastUptime = uptime;
+        lastGenerations = generations;
+        lastCrossovers = crossovers;
+        Object[] values = {
+                uptime,
+                metrics.getParsingMillis(),
+                metrics.getShortestPathsMillis(),
+                metrics.getSearchNodesExpanded(),
+                generations,
+                String.format(Locale.ROOT, "%.1f", generationsPerSecond),
+                crossovers,
+                String.format(Locale.ROOT, "%.1f", crossoversPerSecond),
+                metrics.getFitnessEvaluations(),
+                metrics.getSelectionMillis(),
+                metrics.getBreedingMillis(),
+                metrics.getCrossoverMillis(),
+                metrics.getMutationMillis(),
+                metrics.getLocalSearchMillis(),
+                metrics.getAllocatedBytesPerGeneration(),
+                metrics.getBestFitness()
+        };
+        try {
+            writer.write(format == Format.CSV ? toCsv(values) : toJson(values));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            System.out.println("Metrics couldn't be written to file " + fileName + "!");
+        }
+    }
+
+    private static String toCsv(Object[] values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            row.append(values[i]);
+        }
+        return row.toString();
+    }
+
+    private static String toJson(Object[] values) {
+        String[] names = CSV_HEADER.split(",");
+        StringBuilder row = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            row.append('"').append(names[i]).append("\":").append(values[i]);
+        }
+        return row.append('}').toString();
+    }
+
+}
@@ -0,0 +1,183 @@
+package ai_project.metrics;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class SolverMetrics implements SolverMetricsMBean {  // counters can be updated from many threads at once
+
+    public final static String OBJECT_NAME = "ai_project:type=SolverMetrics";
+
+    private final static ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final long startTime = System.nanoTime();
+    private final LongAdder parsingNanos = new LongAdder();
+    private final LongAdder shortestPathsNanos = new LongAdder();
+    private final LongAdder searchNodesExpanded = new LongAdder();
+    private final LongAdder generations = new LongAdder();
+    private final LongAdder crossovers = new LongAdder();
+    private final LongAdder fitnessEvaluations = new LongAdder();
+    private final LongAdder selectionNanos = new LongAdder();
+    private final LongAdder breedingNanos = new LongAdder();
+    // summed over breeding threads, so with parallel breeding they can add up to more than breeding time:
+    private final LongAdder crossoverNanos = new LongAdder();
+    private final LongAdder mutationNanos = new LongAdder();
+    private final LongAdder localSearchNanos = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final LongAdder measuredGenerations = new LongAdder();  // generations with known allocation
+    private final AtomicInteger bestFitness = new AtomicInteger(Integer.MAX_VALUE);
+
+    public void addParsingTime(long nanos) {
+        parsingNanos.add(nanos);
+    }
+
+    public void addShortestPathsTime(long nanos) {
+        shortestPathsNanos.add(nanos);
+    }
+
+    public void addSearchNodesExpanded(long count) {
+        searchNodesExpanded.add(count);
+    }
+
+    public void addGeneration(long selectionNanos, long breedingNanos, long allocatedBytes) {  // -1 bytes - unknown
+        generations.increment();
+        this.selectionNanos.add(selectionNanos);
+        this.breedingNanos.add(breedingNanos);
+        if (allocatedBytes >= 0) {
+            this.allocatedBytes.add(allocatedBytes);
+            measuredGenerations.increment();
+        }
+    }
+
+    public void addOffspring(long crossoverNanos, long mutationNanos, long localSearchNanos) {  // one crossover child
+        crossovers.increment();
+        this.crossoverNanos.add(crossoverNanos);
+        this.mutationNanos.add(mutationNanos);
+        this.localSearchNanos.add(localSearchNanos);
+    }
+
+    public void addFitnessEvaluations(long count) {
+        fitnessEvaluations.add(count);
+    }
+
+    public void updateBestFitness(int fitness) {
+        bestFitness.accumulateAndGet(fitness, Math::min);
+    }
+
+    public static long getCurrentThreadAllocatedBytes() {  // -1 if JVM can't tell
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    public void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.out.println("Metrics couldn't be registered in JMX: " + e.getMessage());
+        }
+    }
+
+    public void unregisterMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (JMException e) {
+            System.out.println("Metrics couldn't be unregistered from JMX: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public long getUptimeMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public long getParsingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(parsingNanos.sum());
+    }
+
+    @Override
+    public long getShortestPathsMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(shortestPathsNanos.sum());
+    }
+
+    @Override
+    public long getSearchNodesExpanded() {
+        return searchNodesExpanded.sum();
+    }
+
+    @Override
+    public long getGenerations() {
+        return generations.sum();
+    }
+
+    @Override
+    public double getGenerationsPerSecond() {
+        return perSecond(generations.sum());
+    }
+
+    @Override
+    public long getCrossovers() {
+        return crossovers.sum();
+    }
+
+    @Override
+    public double getCrossoversPerSecond() {
+        return perSecond(crossovers.sum());
+    }
+
+    @Override
+    public long getFitnessEvaluations() {
+        return fitnessEvaluations.sum();
+    }
+
+    @Override
+    public long getSelectionMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(selectionNanos.sum());
+    }
+
+    @Override
+    public long getBreedingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(breedingNanos.sum());
+    }
+
+    @Override
+    public long getCrossoverMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(crossoverNanos.sum());
+    }
+
+    @Override
+    public long getMutationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(mutationNanos.sum());
+    }
+
+    @Override
+    public long getLocalSearchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(localSearchNanos.sum());
+    }
+
+    @Override
+    public long getAllocatedBytesPerGeneration() {
+        long measured = measuredGenerations.sum();
+        return measured > 0 ? allocatedBytes.sum() / measured : -1;
+    }
+
+    @Override
+    public int getBestFitness() {
+        return bestFitness.get();
+    }
+
+    private double perSecond(long count) {  // average since metrics were created
+        long nanos = System.nanoTime() - startTime;
+        return nanos > 0 ? count * 1e9 / nanos : 0;
+    }
+
+}
@@ -0,0 +1,37 @@
+package ai_project.metrics;
+
+public interface SolverMetricsMBean {  // read-only view for JMX clients, e.g. jconsole
+
+    long getUptimeMillis();
+
+    long getParsingMillis();
+
+    long getShortestPathsMillis();
+
+    long getSearchNodesExpanded();
+
+    long getGenerations();
+
+    double getGenerationsPerSecond();
+
+    long getCrossovers();
+
+    double getCrossoversPerSecond();
+
+    long getFitnessEvaluations();
+
+    long getSelectionMillis();
+
+    long getBreedingMillis();
+
+    long getCrossoverMillis();
+
+    long getMutationMillis();
+
+    long getLocalSearchMillis();
+
+    long getAllocatedBytesPerGeneration();
+
+    int getBestFitness();
+
+}
@@ -0,0 +1,165 @@
+package ai_project.models;
+
+import java.nio.IntBuffer;
+
+public interface DistanceTable {  // [from][to] -> length of shortest path, Integer.MAX_VALUE if there is no path
+
+    int getNodesCount();
+
+    int get(int from, int to);
+
+    void getRow(int from, int[] row);  // copied into row
+
+    void setRow(int from, int[] row);
+
+    void set(int from, int to, int distance);
+
+    boolean isReadOnly();  // e.g. mapped from cache file
+
+    static DistanceTable ofRows(int[][] rows) {  // rows are used, not copied
+        return new RowsDistanceTable(rows);
+    }
+
+    static DistanceTable onHeap(int nodesCount, int[] distances) {  // flat, row after row - array is used, not copied
+        return new HeapDistanceTable(nodesCount, distances);
+    }
+
+    // rows split between buffers of rowsPerWindow rows each, e.g. file mapped in windows under 2 GB:
+    static DistanceTable wrap(int nodesCount, IntBuffer[] windows, int rowsPerWindow) {
+        return new DirectDistanceTable(nodesCount, new RowWindows(nodesCount, windows, rowsPerWindow));
+    }
+
+    static DistanceTable copyOnHeap(DistanceTable table) {  // by rows, so there is no limit of a single array
+        int nodesCount = table.getNodesCount();
+        int[][] rows = new int[nodesCount][nodesCount];
+        for (int from = 0; from < nodesCount; from++) {
+            table.getRow(from, rows[from]);
+        }
+        return ofRows(rows);
+    }
+
+    class RowsDistanceTable implements DistanceTable {
+
+        private final int[][] rows;
+
+        RowsDistanceTable(int[][] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int getNodesCount() {
+            return rows.length;
+        }
+
+        @Override
+        public int get(int from, int to) {
+            return rows[from][to];
+        }
+
+        @Override
+        public void getRow(int from, int[] row) {
+            System.arraycopy(rows[from], 0, row, 0, rows.length);
+        }
+
+        @Override
+        public void setRow(int from, int[] row) {
+            System.arraycopy(row, 0, rows[from], 0, rows.length);
+        }
+
+        @Override
+        public void set(int from, int to, int distance) {
+            rows[from][to] = distance;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+    }
+
+    class HeapDistanceTable implements DistanceTable {  // one array, e.g. computed by blocked Floyd-Warshall
+
+        private final int nodesCount;
+        private final int[] distances;
+
+        HeapDistanceTable(int nodesCount, int[] distances) {
+            this.nodesCount = nodesCount;
+            this.distances = distances;
+        }
+
+        @Override
+        public int getNodesCount() {
+            return nodesCount;
+        }
+
+        @Override
+        public int get(int from, int to) {
+            return distances[from * nodesCount + to];
+        }
+
+        @Override
+        public void getRow(int from, int[] row) {
+            System.arraycopy(distances, from * nodesCount, row, 0, nodesCount);
+        }
+
+        @Override
+        public void setRow(int from, int[] row) {
+            System.arraycopy(row, 0, distances, from * nodesCount, nodesCount);
+        }
+
+        @Override
+        public void set(int from, int to, int distance) {
+            distances[from * nodesCount + to] = distance;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+    }
+
+    class DirectDistanceTable implements DistanceTable {  // outside of java heap, e.g. mapped from cache file
+
+        private final int nodesCount;
+        private final RowWindows distances;
+
+        DirectDistanceTable(int nodesCount, RowWindows distances) {
+            this.nodesCount = nodesCount;
+            this.distances = distances;
+        }
+
+        @Override
+        public int getNodesCount() {
+            return nodesCount;
+        }
+
+        @Override
+        public int get(int from, int to) {
+            return distances.get(from, to);
+        }
+
+        @Override
+        public void getRow(int from, int[] row) {
+            distances.getRow(from, row);
+        }
+
+        @Override
+        public void setRow(int from, int[] row) {
+            distances.setRow(from, row);
+        }
+
+        @Override
+        public void set(int from, int to, int distance) {
+            distances.set(from, to, distance);
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return distances.isReadOnly();
+        }
+
+    }
+
+}
@@ -0,0 +1,34 @@
+package ai_project.models;
+
+public class FitnessHistory {  // bounded ring of best fitness in last generations, for diagnostics
+
+    private final int[] generations;
+    private final int[] bestFitness;
+    private int next;
+    private int size;
+
+    public FitnessHistory(int capacity) {
+        generations = new int[capacity];
+        bestFitness = new int[capacity];
+    }
+
+    public void add(int generation, int fitness) {
+        generations[next] = generation;
+        bestFitness[next] = fitness;
+        next = (next + 1) % generations.length;
+        size = Math.min(size + 1, generations.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getGeneration(int index) {  // 0 - oldest kept generation
+        return generations[(next - size + index + generations.length) % generations.length];
+    }
+
+    public int getBestFitness(int index) {
+        return bestFitness[(next - size + index + generations.length) % generations.length];
+    }
+
+}
@@ -0,0 +1,45 @@
+package ai_project.models;
+
+public class GenerationSnapshot {  // state of algorithm after one generation, safe to pass to other threads
+
+    private final int generation;
+    private final int bestFitnessInGeneration;
+    private final Individual bestFit;  // copy, never modified after it's found
+    private final int firstGenerationOfBestFit;
+    private final long elapsedMillis;
+
+    public GenerationSnapshot(
+            int generation,
+            int bestFitnessInGeneration,
+            Individual bestFit,
+            int firstGenerationOfBestFit,
+            long elapsedMillis
+    ) {
+        this.generation = generation;
+        this.bestFitnessInGeneration = bestFitnessInGeneration;
+        this.bestFit = bestFit;
+        this.firstGenerationOfBestFit = firstGenerationOfBestFit;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getGeneration() {
+        return generation;
+    }
+
+    public int getBestFitnessInGeneration() {
+        return bestFitnessInGeneration;
+    }
+
+    public Individual getBestFit() {
+        return bestFit;
+    }
+
+    public int getFirstGenerationOfBestFit() {
+        return firstGenerationOfBestFit;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+}
@@ -0,0 +1,240 @@
+package ai_project.models;
+
+import java.util.Arrays;
+
+public class Graph {  // immutable directed graph in compressed sparse row format
+
+    private final int nodesCount;
+    private final int[] offsets;  // edges of node v: offsets[v] (inclusive) to offsets[v + 1] (exclusive)
+    private final int[] targets;
+    private final int[] weights;
+
+    private Graph(int nodesCount, int[] offsets, int[] targets, int[] weights) {
+        this.nodesCount = nodesCount;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    public static Graph fromArrays(int[] offsets, int[] targets, int[] weights) {  // arrays in CSR layout, e.g. from cache
+        if (offsets.length == 0 || offsets[offsets.length - 1] != targets.length || targets.length != weights.length) {
+            throw new IllegalArgumentException("Inconsistent graph arrays");
+        }
+        return new Graph(offsets.length - 1, offsets, targets, weights);
+    }
+
+    public int getNodesCount() {
+        return nodesCount;
+    }
+
+    public int getEdgesCount() {
+        return targets.length;
+    }
+
+    public int firstEdge(int node) {
+        return offsets[node];
+    }
+
+    public int lastEdge(int node) {  // exclusive
+        return offsets[node + 1];
+    }
+
+    public int getDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    public int getWeight(int edge) {
+        return weights[edge];
+    }
+
+    public int findEdge(int from, int to) {  // -1 if there is no such edge, edges of node are sorted by target
+        int low = offsets[from];
+        int high = offsets[from + 1] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (targets[middle] < to) {
+                low = middle + 1;
+            } else if (targets[middle] > to) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    public Graph withEdge(int from, int to, int weight) {  // copy with edge added or its weight changed
+        int edge = findEdge(from, to);
+        if (edge >= 0) {  // same structure, only weights are copied
+            int[] newWeights = Arrays.copyOf(weights, weights.length);
+            newWeights[edge] = weight;
+            return new Graph(nodesCount, offsets, targets, newWeights);
+        }
+        int position = offsets[from];
+        while (position < offsets[from + 1] && targets[position] < to) {
+            position++;
+        }
+        int[] newOffsets = Arrays.copyOf(offsets, offsets.length);
+        for (int i = from + 1; i <= nodesCount; i++) {
+            newOffsets[i]++;
+        }
+        return new Graph(
+                nodesCount,
+                newOffsets,
+                insert(targets, position, to),
+                insert(weights, position, weight)
+        );
+    }
+
+    public Graph withoutEdge(int from, int to) {  // copy without given edge, this graph if there is no such edge
+        int edge = findEdge(from, to);
+        if (edge < 0) {
+            return this;
+        }
+        int[] newOffsets = Arrays.copyOf(offsets, offsets.length);
+        for (int i = from + 1; i <= nodesCount; i++) {
+            newOffsets[i]--;
+        }
+        return new Graph(nodesCount, newOffsets, remove(targets, edge), remove(weights, edge));
+    }
+
+    private static int[] insert(int[] array, int position, int value) {
+        int[] result = new int[array.length + 1];
+        System.arraycopy(array, 0, result, 0, position);
+        result[position] = value;
+        System.arraycopy(array, position, result, position + 1, array.length - position);
+        return result;
+    }
+
+    private static int[] remove(int[] array, int position) {
+        int[] result = new int[array.length - 1];
+        System.arraycopy(array, 0, result, 0, position);
+        System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+        return result;
+    }
+
+    public Graph reverse() {  // the same edges in opposite direction, e.g. for searches towards a node
+        Builder builder = new Builder(nodesCount);
+        for (int node = 0; node < nodesCount; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                builder.addEdge(targets[edge], node, weights[edge]);
+            }
+        }
+        return builder.build();
+    }
+
+    public void forEachNeighbour(int node, NeighbourConsumer consumer) {
+        for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+            consumer.accept(targets[edge], weights[edge]);
+        }
+    }
+
+    public int[][] toConnectionsMatrix() {  // 0 on diagonal, Integer.MAX_VALUE if there is no direct edge
+        int[][] matrix = new int[nodesCount][nodesCount];
+        for (int i = 0; i < nodesCount; i++) {
+            Arrays.fill(matrix[i], Integer.MAX_VALUE);
+            matrix[i][i] = 0;
+            for (int edge = offsets[i]; edge < offsets[i + 1]; edge++) {
+                matrix[i][targets[edge]] = weights[edge];
+            }
+        }
+        return matrix;
+    }
+
+    public interface NeighbourConsumer {
+        void accept(int target, int weight);
+    }
+
+    public static class Builder {
+
+        private final int nodesCount;
+        private int[] sources = new int[16];
+        private int[] targets = new int[16];
+        private int[] weights = new int[16];
+        private int edgesCount;
+
+        public Builder(int nodesCount) {
+            this.nodesCount = nodesCount;
+        }
+
+        public Builder addEdge(int from, int to, int weight) {
+            if (from < 0 || from >= nodesCount || to < 0 || to >= nodesCount) {
+                throw new IllegalArgumentException("Edge " + from + " -> " + to + " references unknown node");
+            }
+            if (edgesCount == sources.length) {
+                sources = Arrays.copyOf(sources, edgesCount * 2);
+                targets = Arrays.copyOf(targets, edgesCount * 2);
+                weights = Arrays.copyOf(weights, edgesCount * 2);
+            }
+            sources[edgesCount] = from;
+            targets[edgesCount] = to;
+            weights[edgesCount] = weight;
+            edgesCount++;
+            return this;
+        }
+
+        public Graph build() {  // edges of every node are sorted by target id
+            int[] order = sortedEdgesOrder();
+            int[] offsets = new int[nodesCount + 1];
+            int[] sortedTargets = new int[edgesCount];
+            int[] sortedWeights = new int[edgesCount];
+            int edgesWritten = 0;
+            for (int i = 0; i < edgesCount; i++) {
+                int edge = order[i];
+                if (i + 1 < edgesCount
+                        && sources[order[i + 1]] == sources[edge]
+                        && targets[order[i + 1]] == targets[edge]) {
+                    continue;  // repeated edge, the last one added wins
+                }
+                offsets[sources[edge] + 1]++;
+                sortedTargets[edgesWritten] = targets[edge];
+                sortedWeights[edgesWritten] = weights[edge];
+                edgesWritten++;
+            }
+            for (int i = 0; i < nodesCount; i++) {
+                offsets[i + 1] += offsets[i];
+            }
+            return new Graph(
+                    nodesCount,
+                    offsets,
+                    Arrays.copyOf(sortedTargets, edgesWritten),
+                    Arrays.copyOf(sortedWeights, edgesWritten)
+            );
+        }
+
+        private int[] sortedEdgesOrder() {  // two stable counting sorts: by target, then by source
+            int[] byTarget = countingSort(targets, identityOrder());
+            return countingSort(sources, byTarget);
+        }
+
+        private int[] identityOrder() {
+            int[] order = new int[edgesCount];
+            for (int i = 0; i < edgesCount; i++) {
+                order[i] = i;
+            }
+            return order;
+        }
+
+        private int[] countingSort(int[] keys, int[] order) {
+            int[] counts = new int[nodesCount + 1];
+            for (int i = 0; i < edgesCount; i++) {
+                counts[keys[i] + 1]++;
+            }
+            for (int i = 0; i < nodesCount; i++) {
+                counts[i + 1] += counts[i];
+            }
+            int[] sorted = new int[edgesCount];
+            for (int i = 0; i < edgesCount; i++) {
+                int edge = order[i];
+                sorted[counts[keys[edge]]++] = edge;
+            }
+            return sorted;
+        }
+
+    }
+
+}
@@ -1,66 +1,25 @@
 package ai_project.models;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
-public class Node {
+public class Node {  // immutable, shared by all searches - their state is kept in arrays indexed by id
 
-    private int id;
-    private String name;
-    private Node cameFrom;
-    private int distanceFromStart;
-    private int xPos;
-    private int yPos;
-    private Map<Integer, Integer> children;
-    private int heuristicDistance;
+    private final int id;
+    private final String name;
+    private final int xPos;
+    private final int yPos;
 
     public Node(int id, String name, int xPos, int yPos) {
         this.id = id;
         this.name = name;
         this.xPos = xPos;
         this.yPos = yPos;
-        children = new HashMap<>();
-    }
-
-    public Node(Node node) {
-        this.id = node.id;
-        this.name = node.name;
-        this.cameFrom = node.cameFrom;
-        this.distanceFromStart = node.distanceFromStart;
-        this.xPos = node.xPos;
-        this.yPos = node.yPos;
-        this.heuristicDistance = node.heuristicDistance;
-        this.children = new HashMap<>();
-        for (Map.Entry<Integer, Integer> child : node.children.entrySet()) {
-            this.children.put(child.getKey(), child.getValue());
-        }
     }
 
     public int getId() {
         return id;
     }
 
-    public Node getCameFrom() {
-        return cameFrom;
-    }
-
-    public void setCameFrom(Node cameFrom) {
-        this.cameFrom = cameFrom;
-    }
-
-    public void calculateHeuristicDistance(Node goal) {
-        this.heuristicDistance = (int) Math.sqrt(Math.pow((goal.xPos - this.xPos), 2) + Math.pow((goal.yPos - this.yPos), 2));
-    }
-
-    public int getDistanceFromStart() {
-        return distanceFromStart;
-    }
-
-    public void setDistanceFromStart(int distanceFromStart) {
-        this.distanceFromStart = distanceFromStart;
-    }
-
     public int getxPos() {
         return xPos;
     }
@@ -69,18 +28,6 @@ public class Node {
         return yPos;
     }
 
-    public Map<Integer, Integer> getChildren() {
-        return children;
-    }
-
-    public void addChildren(Node child, int distance) {
-        children.put(child.id, distance);
-    }
-
-    public int getHeuristicDistance() {
-        return heuristicDistance;
-    }
-
     public String getName() {
         return name;
     }
@@ -98,4 +45,4 @@ public class Node {
         return Objects.hash(id);
     }
 
-}
\ No newline at end of file
+}
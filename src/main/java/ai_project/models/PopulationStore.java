@@ -0,0 +1,93 @@
+package ai_project.models;
+
+public class PopulationStore {  // two flat generations swapped after every generation, individual i at [i * genesCount]
+
+    private final int size;
+    private final int genesCount;
+    private int[] chromosomes;
+    private int[] fitness;
+    private int[] nextChromosomes;
+    private int[] nextFitness;
+
+    public PopulationStore(int size, int genesCount) {
+        this.size = size;
+        this.genesCount = genesCount;
+        chromosomes = new int[size * genesCount];
+        fitness = new int[size];
+        nextChromosomes = new int[size * genesCount];
+        nextFitness = new int[size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getGenesCount() {
+        return genesCount;
+    }
+
+    public int offset(int individual) {
+        return individual * genesCount;
+    }
+
+    public int[] getChromosomes() {  // current generation
+        return chromosomes;
+    }
+
+    public int[] getFitness() {  // current generation
+        return fitness;
+    }
+
+    public int getFitness(int individual) {
+        return fitness[individual];
+    }
+
+    public void setFitness(int individual, int individualFitness) {  // in current generation
+        fitness[individual] = individualFitness;
+    }
+
+    public void set(int individual, int[] chromosome, int individualFitness) {  // in current generation
+        System.arraycopy(chromosome, 0, chromosomes, offset(individual), genesCount);
+        fitness[individual] = individualFitness;
+    }
+
+    public int[] getNextChromosomes() {  // generation being made
+        return nextChromosomes;
+    }
+
+    public void setNext(int individual, int[] chromosome, int individualFitness) {
+        System.arraycopy(chromosome, 0, nextChromosomes, offset(individual), genesCount);
+        nextFitness[individual] = individualFitness;
+    }
+
+    public void copyToNext(int individual, int nextIndividual) {
+        System.arraycopy(chromosomes, offset(individual), nextChromosomes, offset(nextIndividual), genesCount);
+        nextFitness[nextIndividual] = fitness[individual];
+    }
+
+    public void swap() {  // generation being made becomes current one
+        int[] temp = chromosomes;
+        chromosomes = nextChromosomes;
+        nextChromosomes = temp;
+        temp = fitness;
+        fitness = nextFitness;
+        nextFitness = temp;
+    }
+
+    public int getBestIndividual() {
+        int best = 0;
+        for (int i = 1; i < size; i++) {
+            if (fitness[i] < fitness[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    public int[] copyChromosome(int individual) {
+        int[] chromosome = new int[genesCount];
+        System.arraycopy(chromosomes, offset(individual), chromosome, 0, genesCount);
+        return chromosome;
+    }
+
+}
@@ -0,0 +1,33 @@
+package ai_project.models;
+
+import java.util.List;
+
+public class Route {  // result of one point to point search
+
+    private final List<Node> nodes;  // from start to goal, empty if goal is unreachable
+    private final int length;  // Integer.MAX_VALUE if goal is unreachable
+    private final int expandedNodesCount;
+
+    public Route(List<Node> nodes, int length, int expandedNodesCount) {
+        this.nodes = nodes;
+        this.length = length;
+        this.expandedNodesCount = expandedNodesCount;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getExpandedNodesCount() {
+        return expandedNodesCount;
+    }
+
+    public boolean isFound() {
+        return !nodes.isEmpty();
+    }
+
+}
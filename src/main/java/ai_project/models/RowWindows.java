@@ -0,0 +1,51 @@
+package ai_project.models;
+
+import java.nio.IntBuffer;
+
+final class RowWindows {  // N x N ints, rows split between buffers of 2^k whole rows - e.g. mappings under 2 GB each
+
+    private final int nodesCount;
+    private final IntBuffer[] windows;
+    private final int shift;  // row -> its window
+    private final int mask;  // row -> its index in window
+
+    RowWindows(int nodesCount, IntBuffer[] windows, int rowsPerWindow) {
+        if (Integer.bitCount(rowsPerWindow) != 1) {
+            throw new IllegalArgumentException("Rows per window have to be a power of 2, not " + rowsPerWindow);
+        }
+        this.nodesCount = nodesCount;
+        this.windows = windows;
+        this.shift = Integer.numberOfTrailingZeros(rowsPerWindow);
+        this.mask = rowsPerWindow - 1;
+    }
+
+    static RowWindows single(int nodesCount, IntBuffer buffer) {  // whole table in one buffer
+        int rowsPerWindow = nodesCount <= 1 ? 1 : Integer.highestOneBit(nodesCount - 1) << 1;
+        return new RowWindows(nodesCount, new IntBuffer[]{buffer}, rowsPerWindow);
+    }
+
+    int get(int from, int to) {
+        return windows[from >>> shift].get((from & mask) * nodesCount + to);
+    }
+
+    void set(int from, int to, int value) {
+        windows[from >>> shift].put((from & mask) * nodesCount + to, value);
+    }
+
+    void getRow(int from, int[] row) {
+        IntBuffer view = windows[from >>> shift].duplicate();
+        view.position((from & mask) * nodesCount);
+        view.get(row, 0, nodesCount);
+    }
+
+    void setRow(int from, int[] row) {  // rows can be set from many threads
+        IntBuffer view = windows[from >>> shift].duplicate();
+        view.position((from & mask) * nodesCount);
+        view.put(row, 0, nodesCount);
+    }
+
+    boolean isReadOnly() {
+        return windows.length > 0 && windows[0].isReadOnly();
+    }
+
+}
@@ -0,0 +1,48 @@
+package ai_project.models;
+
+public class ShortestPathTree {  // paths from one source, exact for searched targets and nodes on their paths
+
+    private final int source;
+    private final int[] distances;  // Integer.MAX_VALUE if node wasn't reached
+    private final int[] predecessors;  // previous node on path from source, NO_PATH if node wasn't reached
+
+    public ShortestPathTree(int source, int[] distances, int[] predecessors) {
+        this.source = source;
+        this.distances = distances;
+        this.predecessors = predecessors;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int[] getDistances() {
+        return distances;
+    }
+
+    public int getDistance(int node) {
+        return distances[node];
+    }
+
+    public int getPredecessor(int node) {
+        return predecessors[node];
+    }
+
+    public int[] getPath(int target) {  // node ids from source to target, empty if target wasn't reached
+        if (distances[target] == Integer.MAX_VALUE) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int node = target; node != source; node = predecessors[node]) {
+            length++;
+        }
+        int[] path = new int[length];
+        int node = target;
+        for (int i = length - 1; i >= 0; i--) {
+            path[i] = node;
+            node = predecessors[node];
+        }
+        return path;
+    }
+
+}
@@ -0,0 +1,105 @@
+package ai_project.models;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+public class ShortestPaths {
+
+    public static final int NO_PATH = -1;
+
+    private final int nodesCount;
+    private final DistanceTable distances;  // Integer.MAX_VALUE if there is no path
+    private final SuccessorTable successors;  // next node on the path from -> to, NO_PATH if there is no path
+
+    public ShortestPaths(int[][] distances, SuccessorTable successors) {
+        this(DistanceTable.ofRows(distances), successors);
+    }
+
+    public ShortestPaths(DistanceTable distances, SuccessorTable successors) {
+        this.nodesCount = distances.getNodesCount();
+        this.distances = distances;
+        this.successors = successors;
+    }
+
+    public int getNodesCount() {
+        return nodesCount;
+    }
+
+    public DistanceTable getDistances() {
+        return distances;
+    }
+
+    public SuccessorTable getSuccessors() {
+        return successors;
+    }
+
+    public int getDistance(int from, int to) {
+        return distances.get(from, to);
+    }
+
+    public int getSuccessor(int from, int to) {
+        return successors.get(from, to);
+    }
+
+    public int[] getPath(int from, int to) {  // node ids from first to last, empty if there is no path
+        if (getSuccessor(from, to) == NO_PATH) {
+            return new int[0];
+        }
+        int length = 1;
+        for (int node = from; node != to; node = getSuccessor(node, to)) {
+            length++;
+        }
+        int[] path = new int[length];
+        int node = from;
+        for (int i = 0; i < length; i++) {
+            path[i] = node;
+            node = getSuccessor(node, to);
+        }
+        return path;
+    }
+
+    public PrimitiveIterator.OfInt expandTour(int[] tour) {  // closed walk: tour[0], ..., tour[0], expanded lazily
+        return new TourIterator(tour);
+    }
+
+    private class TourIterator implements PrimitiveIterator.OfInt {
+
+        private final int[] tour;
+        private int segment;  // path from tour[segment] to tour[segment + 1] is being expanded
+        private int nextNode;
+        private boolean finished;
+
+        TourIterator(int[] tour) {
+            this.tour = tour;
+            this.finished = tour.length == 0;
+            this.nextNode = finished ? NO_PATH : tour[0];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !finished;
+        }
+
+        @Override
+        public int nextInt() {
+            if (finished) {
+                throw new NoSuchElementException();
+            }
+            int node = nextNode;
+            if (node == tour[(segment + 1) % tour.length]) {  // end of segment reached
+                segment++;
+            }
+            if (segment == tour.length) {
+                finished = true;
+                return node;
+            }
+            nextNode = getSuccessor(node, tour[(segment + 1) % tour.length]);
+            if (nextNode == NO_PATH) {
+                throw new IllegalStateException("No path from " + node + " to " + tour[(segment + 1) % tour.length]);
+            }
+            return node;
+        }
+
+    }
+
+}
@@ -0,0 +1,152 @@
+package ai_project.models;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+
+public interface SuccessorTable {  // [from][to] -> next node on the path from -> to
+
+    int getNodesCount();
+
+    int get(int from, int to);
+
+    void setRow(int from, int[] row);
+
+    void set(int from, int to, int successor);
+
+    boolean isReadOnly();  // e.g. mapped from cache file
+
+    int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;  // some VMs reserve header words in arrays
+
+    static int flatLength(int nodesCount, int entryBytes) {  // nodesCount^2 entries, fails if they don't fit one array/buffer
+        long length = (long) nodesCount * nodesCount;
+        if (length > MAX_ARRAY_LENGTH / entryBytes) {
+            throw new IllegalArgumentException(nodesCount + " nodes need " + length
+                    + " entries in a single table, at most " + MAX_ARRAY_LENGTH / entryBytes + " are supported");
+        }
+        return (int) length;
+    }
+
+    static SuccessorTable onHeap(int nodesCount) {
+        return new HeapSuccessorTable(nodesCount, new int[flatLength(nodesCount, 1)]);
+    }
+
+    static SuccessorTable onHeap(int nodesCount, int[] successors) {
+        return new HeapSuccessorTable(nodesCount, successors);
+    }
+
+    static SuccessorTable offHeap(int nodesCount) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(flatLength(nodesCount, Integer.BYTES) * Integer.BYTES)
+                .order(ByteOrder.nativeOrder());
+        return new DirectSuccessorTable(nodesCount, buffer.asIntBuffer());
+    }
+
+    static SuccessorTable offHeap(int nodesCount, int[] successors) {
+        SuccessorTable table = offHeap(nodesCount);
+        for (int i = 0; i < nodesCount; i++) {
+            int[] row = new int[nodesCount];
+            System.arraycopy(successors, i * nodesCount, row, 0, nodesCount);
+            table.setRow(i, row);
+        }
+        return table;
+    }
+
+    static SuccessorTable copyOnHeap(SuccessorTable table) {
+        int nodesCount = table.getNodesCount();
+        int[] successors = new int[flatLength(nodesCount, 1)];
+        for (int from = 0; from < nodesCount; from++) {
+            for (int to = 0; to < nodesCount; to++) {
+                successors[from * nodesCount + to] = table.get(from, to);
+            }
+        }
+        return onHeap(nodesCount, successors);
+    }
+
+    static SuccessorTable wrap(int nodesCount, IntBuffer successors) {  // e.g. memory-mapped file
+        return new DirectSuccessorTable(nodesCount, successors);
+    }
+
+    // rows split between buffers of rowsPerWindow rows each, e.g. file mapped in windows under 2 GB:
+    static SuccessorTable wrap(int nodesCount, IntBuffer[] windows, int rowsPerWindow) {
+        return new DirectSuccessorTable(nodesCount, new RowWindows(nodesCount, windows, rowsPerWindow));
+    }
+
+    class HeapSuccessorTable implements SuccessorTable {
+
+        private final int nodesCount;
+        private final int[] successors;
+
+        HeapSuccessorTable(int nodesCount, int[] successors) {
+            this.nodesCount = nodesCount;
+            this.successors = successors;
+        }
+
+        @Override
+        public int getNodesCount() {
+            return nodesCount;
+        }
+
+        @Override
+        public int get(int from, int to) {
+            return successors[from * nodesCount + to];
+        }
+
+        @Override
+        public void setRow(int from, int[] row) {
+            System.arraycopy(row, 0, successors, from * nodesCount, nodesCount);
+        }
+
+        @Override
+        public void set(int from, int to, int successor) {
+            successors[from * nodesCount + to] = successor;
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+    }
+
+    class DirectSuccessorTable implements SuccessorTable {  // outside of java heap, not scanned by GC
+
+        private final int nodesCount;
+        private final RowWindows successors;
+
+        DirectSuccessorTable(int nodesCount, IntBuffer successors) {  // whole table in one buffer
+            this(nodesCount, RowWindows.single(nodesCount, successors));
+        }
+
+        DirectSuccessorTable(int nodesCount, RowWindows successors) {
+            this.nodesCount = nodesCount;
+            this.successors = successors;
+        }
+
+        @Override
+        public int getNodesCount() {
+            return nodesCount;
+        }
+
+        @Override
+        public int get(int from, int to) {
+            return successors.get(from, to);
+        }
+
+        @Override
+        public void setRow(int from, int[] row) {  // rows can be set from many threads
+            successors.setRow(from, row);
+        }
+
+        @Override
+        public void set(int from, int to, int successor) {
+            successors.set(from, to, successor);
+        }
+
+        @Override
+        public boolean isReadOnly() {
+            return successors.isReadOnly();
+        }
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package ai_project.service;
+
+import ai_project.models.Node;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class SolverServer {  // GET or POST /tour?nodes=1,5,7&population=50&timeLimit=500&seed=1 ...
+
+    private final static int EXTRA_HANDLER_THREADS = 2;  // they answer 503 when solver queue is full
+    private final static int MAX_BODY_BYTES = 64 * 1024;  // longer POST bodies are answered with 400
+
+    private final SolverService service;
+    private final HttpServer server;
+    private final ThreadPoolExecutor solverPool;
+    private final ExecutorService handlerPool;
+
+    public SolverServer(SolverService service, int port, int solverThreads, int queueCapacity) throws IOException {
+        this.service = service;
+        // solving is bounded: requests over running ones plus queued ones are rejected right away:
+        solverPool = new ThreadPoolExecutor(
+                solverThreads,
+                solverThreads,
+                0,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity)
+        );
+        handlerPool = Executors.newFixedThreadPool(solverThreads + queueCapacity + EXTRA_HANDLER_THREADS);
+        server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(handlerPool);
+        server.createContext("/tour", this::handleTour);
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Solver listening on port " + server.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        handlerPool.shutdownNow();
+        solverPool.shutdownNow();
+    }
+
+    private void handleTour(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod()) && !"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, error("Only GET and POST are allowed"));
+                return;
+            }
+            TourRequest request = parseRequest(exchange);
+            Future<TourResult> result;
+            try {
+                result = solverPool.submit(() -> service.solve(request));
+            } catch (RejectedExecutionException e) {
+                respond(exchange, 503, error("Solver is busy, try again later"));
+                return;
+            }
+            respond(exchange, 200, toJson(result.get()));
+        } catch (IllegalArgumentException e) {
+            respond(exchange, 400, error(e.getMessage()));
+        } catch (ExecutionException e) {
+            boolean badRequest = e.getCause() instanceof IllegalArgumentException;
+            respond(exchange, badRequest ? 400 : 500, error(e.getCause().getMessage()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            respond(exchange, 503, error("Solver is shutting down"));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static TourRequest parseRequest(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        parseParameters(exchange.getRequestURI().getRawQuery(), parameters);
+        if ("POST".equals(exchange.getRequestMethod())) {  // form encoded body
+            parseParameters(readBody(exchange.getRequestBody()), parameters);
+        }
+        String nodes = parameters.get("nodes");
+        if (nodes == null || nodes.isEmpty()) {
+            throw new IllegalArgumentException("Parameter nodes is required, e.g. nodes=1,5,7");
+        }
+        String[] ids = nodes.split(",");
+        int[] requestedNodes = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            requestedNodes[i] = parseInt(ids[i].trim(), "nodes");
+        }
+        TourRequest request = new TourRequest(requestedNodes);
+        for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+            String value = parameter.getValue();
+            switch (parameter.getKey()) {
+                case "nodes":
+                    break;
+                case "population":
+                    request.setPopulation(parseInt(value, "population"));
+                    break;
+                case "generations":
+                    request.setMaxGenerationsCount(parseInt(value, "generations"));
+                    break;
+                case "generationsWithNoImprovement":
+                    request.setMaxGenerationsWithNoImprovement(parseInt(value, "generationsWithNoImprovement"));
+                    break;
+                case "crossFactor":
+                    request.setCrossFactor(parseDouble(value, "crossFactor"));
+                    break;
+                case "mutateFactor":
+                    request.setMutateFactor(parseDouble(value, "mutateFactor"));
+                    break;
+                case "timeLimit":
+                    request.setTimeLimitMillis(parseInt(value, "timeLimit"));
+                    break;
+                case "targetFitness":
+                    request.setTargetFitness(parseInt(value, "targetFitness"));
+                    break;
+                case "localSearch":
+                    request.setLocalSearchNeighbours(parseInt(value, "localSearch"));
+                    break;
+                case "seed":
+                    request.setSeed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown parameter " + parameter.getKey());
+            }
+        }
+        return request;
+    }
+
+    private static void parseParameters(String query, Map<String, String> parameters)
+            throws UnsupportedEncodingException {
+        if (query == null || query.isEmpty()) {
+            return;
+        }
+        for (String pair : query.split("&")) {
+            int separator = pair.indexOf('=');
+            if (separator > 0) {
+                parameters.put(
+                        URLDecoder.decode(pair.substring(0, separator), "UTF-8"),
+                        URLDecoder.decode(pair.substring(separator + 1), "UTF-8")
+                );
+            }
+        }
+    }
+
+    private static String readBody(InputStream body) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int read;
+        while ((read = body.read(buffer)) > 0) {
+            if (bytes.size() + read > MAX_BODY_BYTES) {  // rest of body isn't read at all
+                throw new IllegalArgumentException("Request body can have at most " + MAX_BODY_BYTES + " bytes");
+            }
+            bytes.write(buffer, 0, read);
+        }
+        return new String(bytes.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " has to be an integer");
+        }
+    }
+
+    private static double parseDouble(String value, String name) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Parameter " + name + " has to be a number");
+        }
+    }
+
+    private String toJson(TourResult result) {
+        List<Node> nodes = service.getNodes();
+        StringBuilder json = new StringBuilder("{\"length\":").append(result.getLength());
+        json.append(",\"elapsedMillis\":").append(result.getElapsedMillis());
+        json.append(",\"tour\":[");
+        for (int i = 0; i < result.getTour().length; i++) {
+            json.append(i > 0 ? "," : "").append(result.getTour()[i]);
+        }
+        json.append("],\"trail\":[");
+        for (int i = 0; i < result.getTrail().length; i++) {
+            Node node = nodes.get(result.getTrail()[i]);
+            json.append(i > 0 ? "," : "").append("{\"id\":").append(node.getId())
+                    .append(",\"name\":").append(quote(node.getName())).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String text) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (char c : String.valueOf(text).toCharArray()) {
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format("\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package ai_project.service;
+
+import ai_project.algorithms.GeneticAlgorithm;
+import ai_project.algorithms.LocalSearch;
+import ai_project.algorithms.SplittableRandomSource;
+import ai_project.models.Individual;
+import ai_project.models.Node;
+import ai_project.models.ShortestPaths;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+public class SolverService {  // shortest paths are computed once, every request only runs GA on its subset
+
+    private final List<Node> nodes;
+    private final ShortestPaths shortestPaths;
+    private final long maxTimeLimitMillis;
+    private final int maxNodesCount;
+    private final int maxPopulation;
+    private final int maxLocalSearchNeighbours;
+
+    public SolverService(  // requests over any limit are rejected, one request can't take the whole machine
+            List<Node> nodes,
+            ShortestPaths shortestPaths,
+            long maxTimeLimitMillis,
+            int maxNodesCount,
+            int maxPopulation,
+            int maxLocalSearchNeighbours
+    ) {
+        this.nodes = nodes;
+        this.shortestPaths = shortestPaths;
+        this.maxTimeLimitMillis = maxTimeLimitMillis;
+        this.maxNodesCount = maxNodesCount;
+        this.maxPopulation = maxPopulation;
+        this.maxLocalSearchNeighbours = maxLocalSearchNeighbours;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public TourResult solve(TourRequest request) {  // thread safe, shared data is only read
+        long startTime = System.nanoTime();
+        int[] requestedNodes = validate(request);
+        int[][] connectionsMatrix = subsetMatrix(requestedNodes);
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
+                request.getPopulation(),
+                request.getMaxGenerationsCount(),
+                request.getMaxGenerationsWithNoImprovement(),
+                request.getCrossFactor(),
+                request.getMutateFactor(),
+                connectionsMatrix,
+                SplittableRandomSource.fromSeed(request.getSeed())
+        );
+        geneticAlgorithm.setTimeLimit(request.getTimeLimitMillis());
+        geneticAlgorithm.setTargetFitness(request.getTargetFitness());
+        if (request.getLocalSearchNeighbours() > 0) {
+            geneticAlgorithm.setLocalSearch(new LocalSearch(connectionsMatrix, request.getLocalSearchNeighbours()));
+        }
+        Individual bestFit = geneticAlgorithm.start();
+
+        int[] tour = new int[requestedNodes.length];
+        for (int i = 0; i < tour.length; i++) {  // genes are positions in request
+            tour[i] = requestedNodes[bestFit.getChromosome()[i]];
+        }
+        int trailLength = 0;
+        for (PrimitiveIterator.OfInt trail = shortestPaths.expandTour(tour); trail.hasNext(); trail.nextInt()) {
+            trailLength++;
+        }
+        int[] trail = new int[trailLength];
+        PrimitiveIterator.OfInt nodesOnTrail = shortestPaths.expandTour(tour);
+        for (int i = 0; i < trailLength; i++) {
+            trail[i] = nodesOnTrail.nextInt();
+        }
+        return new TourResult(tour, trail, bestFit.getFitness(), (System.nanoTime() - startTime) / 1000000);
+    }
+
+    private int[] validate(TourRequest request) {
+        int[] requestedNodes = request.getNodes();
+        if (requestedNodes == null || requestedNodes.length < 2) {
+            throw new IllegalArgumentException("At least 2 nodes are required");
+        }
+        if (requestedNodes.length > maxNodesCount) {  // checked first, reachability check is quadratic
+            throw new IllegalArgumentException("At most " + maxNodesCount + " nodes can be requested");
+        }
+        boolean[] requested = new boolean[nodes.size()];
+        for (int node : requestedNodes) {
+            if (node < 0 || node >= nodes.size()) {
+                throw new IllegalArgumentException("Unknown node " + node);
+            }
+            if (requested[node]) {
+                throw new IllegalArgumentException("Node " + node + " requested twice");
+            }
+            requested[node] = true;
+        }
+        for (int from : requestedNodes) {
+            for (int to : requestedNodes) {
+                if (shortestPaths.getSuccessor(from, to) == ShortestPaths.NO_PATH) {
+                    throw new IllegalArgumentException("Node " + to + " can't be reached from node " + from);
+                }
+            }
+        }
+        if (request.getPopulation() < 2 || request.getPopulation() > maxPopulation) {
+            throw new IllegalArgumentException("Population has to be between 2 and " + maxPopulation);
+        }
+        if (request.getLocalSearchNeighbours() > maxLocalSearchNeighbours) {
+            throw new IllegalArgumentException("Local search can use at most " + maxLocalSearchNeighbours + " neighbours");
+        }
+        if (request.getTimeLimitMillis() <= 0 || request.getTimeLimitMillis() > maxTimeLimitMillis) {
+            throw new IllegalArgumentException("Time limit has to be between 1 and " + maxTimeLimitMillis + " ms");
+        }
+        if (!(request.getCrossFactor() >= 0 && request.getCrossFactor() <= 1)) {  // NaN fails both comparisons
+            throw new IllegalArgumentException("Cross factor has to be between 0 and 1");
+        }
+        if (!(request.getMutateFactor() >= 0 && request.getMutateFactor() <= 1)) {
+            throw new IllegalArgumentException("Mutate factor has to be between 0 and 1");
+        }
+        return requestedNodes;
+    }
+
+    private int[][] subsetMatrix(int[] requestedNodes) {
+        int[][] matrix = new int[requestedNodes.length][requestedNodes.length];
+        for (int i = 0; i < requestedNodes.length; i++) {
+            for (int j = 0; j < requestedNodes.length; j++) {
+                matrix[i][j] = shortestPaths.getDistance(requestedNodes[i], requestedNodes[j]);
+            }
+        }
+        return matrix;
+    }
+
+}
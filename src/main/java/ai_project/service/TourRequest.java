@@ -0,0 +1,96 @@
+package ai_project.service;
+
+public class TourRequest {  // tour over chosen nodes, GA parameters have defaults good for small subsets
+
+    private final int[] nodes;
+    private int population = 50;
+    private int maxGenerationsCount = -1;
+    private int maxGenerationsWithNoImprovement = -1;
+    private double crossFactor = 0.8;
+    private double mutateFactor = 0.1;
+    private long timeLimitMillis = 1000;
+    private int targetFitness = -1;
+    private int localSearchNeighbours = 8;  // 0 - no local search
+    private long seed = -1;
+
+    public TourRequest(int[] nodes) {
+        this.nodes = nodes;
+    }
+
+    public int[] getNodes() {
+        return nodes;
+    }
+
+    public int getPopulation() {
+        return population;
+    }
+
+    public void setPopulation(int population) {
+        this.population = population;
+    }
+
+    public int getMaxGenerationsCount() {
+        return maxGenerationsCount;
+    }
+
+    public void setMaxGenerationsCount(int maxGenerationsCount) {
+        this.maxGenerationsCount = maxGenerationsCount;
+    }
+
+    public int getMaxGenerationsWithNoImprovement() {
+        return maxGenerationsWithNoImprovement;
+    }
+
+    public void setMaxGenerationsWithNoImprovement(int maxGenerationsWithNoImprovement) {
+        this.maxGenerationsWithNoImprovement = maxGenerationsWithNoImprovement;
+    }
+
+    public double getCrossFactor() {
+        return crossFactor;
+    }
+
+    public void setCrossFactor(double crossFactor) {
+        this.crossFactor = crossFactor;
+    }
+
+    public double getMutateFactor() {
+        return mutateFactor;
+    }
+
+    public void setMutateFactor(double mutateFactor) {
+        this.mutateFactor = mutateFactor;
+    }
+
+    public long getTimeLimitMillis() {
+        return timeLimitMillis;
+    }
+
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        this.timeLimitMillis = timeLimitMillis;
+    }
+
+    public int getTargetFitness() {
+        return targetFitness;
+    }
+
+    public void setTargetFitness(int targetFitness) {
+        this.targetFitness = targetFitness;
+    }
+
+    public int getLocalSearchNeighbours() {
+        return localSearchNeighbours;
+    }
+
+    public void setLocalSearchNeighbours(int localSearchNeighbours) {
+        this.localSearchNeighbours = localSearchNeighbours;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+}
@@ -0,0 +1,33 @@
+package ai_project.service;
+
+public class TourResult {
+
+    private final int[] tour;  // requested node ids in visiting order
+    private final int[] trail;  // closed walk over all trail nodes, from tour[0] back to it
+    private final int length;
+    private final long elapsedMillis;
+
+    public TourResult(int[] tour, int[] trail, int length, long elapsedMillis) {
+        this.tour = tour;
+        this.trail = trail;
+        this.length = length;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int[] getTour() {
+        return tour;
+    }
+
+    public int[] getTrail() {
+        return trail;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+}
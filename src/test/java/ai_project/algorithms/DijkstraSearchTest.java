@@ -0,0 +1,64 @@
+package ai_project.algorithms;
+
+import ai_project.models.Graph;
+import ai_project.models.ShortestPathTree;
+import ai_project.models.ShortestPaths;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static ai_project.algorithms.TestGraphs.assertPath;
+import static ai_project.algorithms.TestGraphs.compute;
+import static org.junit.Assert.assertEquals;
+
+public class DijkstraSearchTest {
+
+    private final static int NODES_COUNT = 60;
+
+    @Test
+    public void bidirectionalSearchMatchesAllPairs() {
+        Graph graph = TestGraphs.generateWithDeadEnds(NODES_COUNT, 23);
+        ShortestPaths allPairs = compute(graph);
+        DijkstraSearch search = new DijkstraSearch(graph);
+        for (int from = 0; from < NODES_COUNT; from++) {
+            for (int to = 0; to < NODES_COUNT; to++) {
+                assertEquals(allPairs.getDistance(from, to), search.getDistance(from, to));
+                assertPath(graph, from, to, allPairs.getDistance(from, to), search.getPath(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void oneToManySearchMatchesAllPairs() {
+        Random random = new Random(24);
+        Graph graph = TestGraphs.generateWithDeadEnds(NODES_COUNT, 24);
+        ShortestPaths allPairs = compute(graph);
+        DijkstraSearch search = new DijkstraSearch(graph);
+        for (int source = 0; source < NODES_COUNT; source++) {
+            int[] targets = new int[5];
+            for (int i = 0; i < targets.length; i++) {
+                targets[i] = random.nextInt(NODES_COUNT);
+            }
+            ShortestPathTree tree = search.searchFrom(source, targets);
+            for (int target : targets) {
+                assertEquals(allPairs.getDistance(source, target), tree.getDistance(target));
+                assertPath(graph, source, target, allPairs.getDistance(source, target), tree.getPath(target));
+            }
+            ShortestPathTree full = search.searchFrom(source, new int[0]);  // no targets - every node
+            for (int target = 0; target < NODES_COUNT; target++) {
+                assertEquals(allPairs.getDistance(source, target), full.getDistance(target));
+            }
+        }
+    }
+
+    @Test
+    public void unreachableNodeHasNoPath() {
+        Graph graph = new Graph.Builder(3).addEdge(0, 1, 4).addEdge(1, 0, 4).addEdge(2, 0, 1).build();
+        DijkstraSearch search = new DijkstraSearch(graph);
+        assertEquals(Integer.MAX_VALUE, search.getDistance(0, 2));
+        assertEquals(0, search.getPath(0, 2).length);
+        assertEquals(5, search.getDistance(2, 1));
+        assertEquals(Integer.MAX_VALUE, search.searchFrom(1, new int[]{2}).getDistance(2));
+    }
+
+}
@@ -0,0 +1,115 @@
+package ai_project.algorithms;
+
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import ai_project.models.SuccessorTable;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+import static ai_project.algorithms.TestGraphs.assertPath;
+import static ai_project.algorithms.TestGraphs.compute;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class DynamicShortestPathsTest {
+
+    private final static int NODES_COUNT = 30;
+    private final static int CHANGES_COUNT = 300;
+
+    @Test
+    public void incrementalUpdatesMatchFullRecomputation() {
+        Random random = new Random(21);
+        Graph graph = TestGraphs.generate(NODES_COUNT, 21);
+        DynamicShortestPaths dynamic = new DynamicShortestPaths(graph, compute(graph));
+        for (int i = 0; i < CHANGES_COUNT; i++) {
+            int from = random.nextInt(NODES_COUNT);
+            int to = random.nextInt(NODES_COUNT);
+            if (from == to) {
+                continue;
+            }
+            if (random.nextInt(3) == 0) {
+                dynamic.removeEdge(from, to);
+            } else {
+                dynamic.setEdge(from, to, 1 + random.nextInt(100));
+            }
+            ShortestPaths expected = compute(dynamic.getGraph());
+            ShortestPaths actual = dynamic.getShortestPaths();
+            for (int source = 0; source < NODES_COUNT; source++) {
+                for (int target = 0; target < NODES_COUNT; target++) {
+                    int distance = expected.getDistance(source, target);
+                    assertEquals(distance, actual.getDistance(source, target));
+                    assertPath(dynamic.getGraph(), source, target, distance, actual.getPath(source, target));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void changedDistanceIsReported() {
+        Graph graph = new Graph.Builder(3).addEdge(0, 1, 5).addEdge(1, 2, 5).addEdge(2, 0, 5).build();
+        DynamicShortestPaths dynamic = new DynamicShortestPaths(graph, compute(graph));
+        assertFalse(dynamic.setEdge(0, 2, 20));  // 0 -> 1 -> 2 is shorter, nothing changes
+        assertTrue(dynamic.setEdge(0, 2, 3));
+        assertFalse(dynamic.setEdge(0, 2, 3));
+        assertTrue(dynamic.removeEdge(1, 2));
+        assertFalse(dynamic.removeEdge(1, 2));
+    }
+
+    @Test
+    public void disconnectedNodesGiveUnreachableTour() {
+        Graph graph = new Graph.Builder(3).addEdge(0, 1, 5).addEdge(1, 2, 5).addEdge(2, 0, 5).build();
+        DynamicShortestPaths dynamic = new DynamicShortestPaths(graph, compute(graph));
+        int[] tour = {0, 1, 2};
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(dynamic.getShortestPaths());
+        assertTrue(dynamic.isConnected(tour));
+        assertEquals(15, TourMoves.tourLength(distances, tour));
+        dynamic.removeEdge(2, 0);
+        assertFalse(dynamic.isConnected(tour));
+        assertEquals(TourMoves.UNREACHABLE, TourMoves.tourLength(distances, tour));
+        assertEquals(TourMoves.UNREACHABLE, TourMoves.applyChange(distances, tour, 15, -10 + Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void rescoreNeverPrefersDisconnectedTour() {  // lengths with unreachable legs used to overflow to negative
+        Random random = new Random(22);
+        Graph.Builder builder = new Graph.Builder(8);
+        for (int from = 0; from < 8; from++) {
+            for (int to = 0; to < 8; to++) {
+                if (from != to) {
+                    builder.addEdge(from, to, 1 + random.nextInt(100));
+                }
+            }
+        }
+        Graph graph = builder.build();
+        DynamicShortestPaths dynamic = new DynamicShortestPaths(graph, compute(graph));
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(dynamic.getShortestPaths());
+        GeneticAlgorithm geneticAlgorithm = new GeneticAlgorithm(
+                20, 50, -1, 0.8, 0.1, distances, SplittableRandomSource.fromSeed(22)
+        );
+        geneticAlgorithm.setLocalSearch(new LocalSearch(distances, 3));
+        assertTrue(geneticAlgorithm.start().getFitness() < TourMoves.UNREACHABLE);
+        for (int from = 0; from < 8; from++) {  // node 7 can't be entered any more
+            dynamic.removeEdge(from, 7);
+        }
+        geneticAlgorithm.rescore();
+        assertEquals(TourMoves.UNREACHABLE, geneticAlgorithm.getBestFit().getFitness());
+        dynamic.setEdge(3, 7, 1000);  // one way in again
+        geneticAlgorithm.rescore();
+        int fitness = geneticAlgorithm.resume().getFitness();
+        assertTrue(fitness > 0 && fitness < TourMoves.UNREACHABLE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void readOnlyPathsAreRejected() {
+        Graph graph = new Graph.Builder(2).addEdge(0, 1, 1).addEdge(1, 0, 1).build();
+        ShortestPaths heap = compute(graph);
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES);
+        buffer.asIntBuffer().put(new int[]{0, 1, 0, 1});
+        SuccessorTable readOnly = SuccessorTable.wrap(2, buffer.asReadOnlyBuffer().asIntBuffer());
+        new DynamicShortestPaths(graph, new ShortestPaths(heap.getDistances(), readOnly));
+    }
+
+}
@@ -0,0 +1,53 @@
+package ai_project.algorithms;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertTrue;
+
+public class IslandGeneticAlgorithmTest {
+
+    private final static int NODES_COUNT = 12;
+    private final static int ISLANDS_COUNT = 4;
+
+    @Test(timeout = 10000)
+    public void failingIslandDoesNotBlockOthers() {  // failed island used to reset barrier others still had to reach
+        int[][] matrix = TestGraphs.asymmetricMatrix(NODES_COUNT, 100, new Random(7));
+        IslandGeneticAlgorithm geneticAlgorithm = new IslandGeneticAlgorithm(
+                ISLANDS_COUNT, 5, 2, 20, 1000, -1, 0.8, 0.1, matrix, SplittableRandomSource.fromSeed(7)
+        );
+        AtomicInteger created = new AtomicInteger();
+        geneticAlgorithm.setSelection(() -> created.getAndIncrement() == 0
+                ? new FailingSelection(new TournamentSelection(2), 7)
+                : new TournamentSelection(2));
+        assertTrue(geneticAlgorithm.start().getFitness() > 0);
+    }
+
+    private static class FailingSelection implements SelectionStrategy {  // throws from given generation on
+
+        private final SelectionStrategy selection;
+        private int generationsLeft;
+
+        private FailingSelection(SelectionStrategy selection, int generationsCount) {
+            this.selection = selection;
+            this.generationsLeft = generationsCount;
+        }
+
+        @Override
+        public void prepare(int[] fitness, int count) {
+            if (generationsLeft-- == 0) {
+                throw new IllegalStateException("Island failed");
+            }
+            selection.prepare(fitness, count);
+        }
+
+        @Override
+        public int select(RandomSource generator) {
+            return selection.select(generator);
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package ai_project.algorithms;
+
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import org.junit.Test;
+
+import static ai_project.algorithms.TestGraphs.compute;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LazyDistanceOracleTest {
+
+    private final static int NODES_COUNT = 60;
+
+    @Test
+    public void evictedPairsAreSearchedAgain() {  // cache far smaller than N x N, every pair read twice
+        Graph graph = TestGraphs.generateWithDeadEnds(NODES_COUNT, 25);
+        ShortestPaths allPairs = compute(graph);
+        LazyDistanceOracle distances = new LazyDistanceOracle(graph, 100);
+        assertEquals(128, distances.getCapacity());
+        for (int round = 0; round < 2; round++) {
+            for (int from = 0; from < NODES_COUNT; from++) {
+                for (int to = 0; to < NODES_COUNT; to++) {
+                    assertEquals(allPairs.getDistance(from, to), distances.getDistance(from, to));
+                }
+            }
+        }
+        assertTrue(distances.getSearchedPairsCount() > NODES_COUNT * (NODES_COUNT - 1));
+    }
+
+    @Test
+    public void hotPairsStayCached() {
+        Graph graph = TestGraphs.generate(NODES_COUNT, 26);
+        LazyDistanceOracle distances = new LazyDistanceOracle(graph, 64);
+        int[] tour = new int[16];
+        for (int i = 0; i < tour.length; i++) {
+            tour[i] = i * 3;
+        }
+        for (int i = 0; i < 10; i++) {
+            TourMoves.tourLength(distances, tour);
+        }
+        assertTrue(distances.getSearchedPairsCount() < 2 * tour.length);  // few legs can collide in one set
+    }
+
+    @Test
+    public void nearestNodesMatchMatrixOracle() {  // both ways cheaper, ties and unreachable nodes ordered by id
+        Graph graph = TestGraphs.generateWithDeadEnds(NODES_COUNT, 27);
+        // the same directed roads with many tied costs, node 2 isolated - unreachable both ways:
+        Graph.Builder builder = new Graph.Builder(NODES_COUNT);
+        for (int node = 0; node < NODES_COUNT; node++) {
+            for (int edge = graph.firstEdge(node); edge < graph.lastEdge(node); edge++) {
+                if (node != 2 && graph.getTarget(edge) != 2) {
+                    builder.addEdge(node, graph.getTarget(edge), 1 + graph.getWeight(edge) % 3);
+                }
+            }
+        }
+        for (Graph directed : new Graph[]{graph, builder.build()}) {
+            MatrixDistanceOracle matrix = new MatrixDistanceOracle(compute(directed));
+            LazyDistanceOracle lazy = new LazyDistanceOracle(directed, 1000);
+            for (int count : new int[]{0, 1, 8, NODES_COUNT}) {
+                for (int node = 0; node < NODES_COUNT; node++) {
+                    assertArrayEquals(matrix.getNearestNodes(node, count), lazy.getNearestNodes(node, count));
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,95 @@
+package ai_project.algorithms;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static ai_project.algorithms.TestGraphs.asymmetricMatrix;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LocalSearchTest {
+
+    private final static int NODES_COUNT = 40;
+    private final static int TOURS_COUNT = 200;
+
+    @Test
+    public void returnedChangeIsRecomputedLengthDifference() {
+        Random random = new Random(11);
+        int[][] matrix = asymmetricMatrix(NODES_COUNT, 1000, random);
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(matrix);
+        LocalSearch localSearch = new LocalSearch(distances, 8);
+        for (int i = 0; i < TOURS_COUNT; i++) {
+            int[] tour = randomTour(NODES_COUNT, random);
+            int lengthBefore = TourMoves.tourLength(distances, tour);
+            long change = localSearch.optimize(tour);
+            assertTrue(change <= 0);
+            assertEquals(TourMoves.tourLength(distances, tour) - lengthBefore, change);
+            assertPermutation(tour);
+        }
+    }
+
+    @Test
+    public void largeCostsKeepExactDeltas() {  // whole tour still fits int, so every move delta does too
+        Random random = new Random(13);
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(
+                asymmetricMatrix(NODES_COUNT, Integer.MAX_VALUE / NODES_COUNT, random)
+        );
+        LocalSearch localSearch = new LocalSearch(distances, 8);
+        int[] tour = randomTour(NODES_COUNT, random);
+        int lengthBefore = TourMoves.tourLength(distances, tour);
+        long change = localSearch.optimize(tour);
+        assertTrue(change < 0);
+        assertEquals(TourMoves.tourLength(distances, tour) - lengthBefore, change);
+        assertPermutation(tour);
+    }
+
+    @Test
+    public void interruptedSearchLeavesValidTour() {
+        Random random = new Random(14);
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(asymmetricMatrix(NODES_COUNT, 1000, random));
+        LocalSearch localSearch = new LocalSearch(distances, 8);
+        int[] tour = randomTour(NODES_COUNT, random);
+        int lengthBefore = TourMoves.tourLength(distances, tour);
+        int[] calls = new int[1];
+        long change = localSearch.optimize(tour, () -> ++calls[0] > 3);
+        assertEquals(TourMoves.tourLength(distances, tour) - lengthBefore, change);
+        assertPermutation(tour);
+    }
+
+    @Test
+    public void swapDeltaIsRecomputedLengthDifference() {
+        Random random = new Random(15);
+        MatrixDistanceOracle distances = new MatrixDistanceOracle(asymmetricMatrix(NODES_COUNT, 1000, random));
+        int[] tour = randomTour(NODES_COUNT, random);
+        for (int i = 0; i < NODES_COUNT; i++) {
+            for (int j = 0; j < NODES_COUNT; j++) {
+                int lengthBefore = TourMoves.tourLength(distances, tour);
+                long delta = TourMoves.swapDelta(distances, tour, i, j);
+                TourMoves.swap(tour, i, j);
+                assertEquals(TourMoves.tourLength(distances, tour) - lengthBefore, delta);
+            }
+        }
+    }
+
+    private static int[] randomTour(int nodesCount, Random random) {
+        int[] tour = new int[nodesCount];
+        for (int i = 0; i < nodesCount; i++) {
+            tour[i] = i;
+        }
+        for (int i = nodesCount - 1; i > 0; i--) {
+            TourMoves.swap(tour, i, random.nextInt(i + 1));
+        }
+        return tour;
+    }
+
+    private static void assertPermutation(int[] tour) {
+        int[] sorted = Arrays.copyOf(tour, tour.length);
+        Arrays.sort(sorted);
+        for (int i = 0; i < sorted.length; i++) {
+            assertEquals(i, sorted[i]);
+        }
+    }
+
+}
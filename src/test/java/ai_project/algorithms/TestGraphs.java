@@ -0,0 +1,64 @@
+package ai_project.algorithms;
+
+import ai_project.fileUtils.GraphGenerator;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+final class TestGraphs {  // fixtures shared by tests of searches, oracles and solvers
+
+    private final static int DEGREE = 3;
+    private final static double ASYMMETRY = 0.3;
+
+    private TestGraphs() {
+    }
+
+    static Graph generate(int nodesCount, long seed) {  // asymmetric trail map, every node reachable from every other
+        return new GraphGenerator(nodesCount, DEGREE, ASYMMETRY, seed).getGraph();
+    }
+
+    // node 0 can't be entered and node 1 can't be left, so some pairs have no path:
+    static Graph generateWithDeadEnds(int nodesCount, long seed) {
+        Graph graph = generate(nodesCount, seed);
+        for (int node = 0; node < nodesCount; node++) {
+            graph = graph.withoutEdge(node, 0).withoutEdge(1, node);
+        }
+        return graph;
+    }
+
+    static int[][] asymmetricMatrix(int nodesCount, int maxCost, Random random) {  // complete graph, direct costs
+        int[][] matrix = new int[nodesCount][nodesCount];
+        for (int i = 0; i < nodesCount; i++) {
+            for (int j = 0; j < nodesCount; j++) {
+                matrix[i][j] = i == j ? 0 : 1 + random.nextInt(maxCost);
+            }
+        }
+        return matrix;
+    }
+
+    static ShortestPaths compute(Graph graph) {
+        return new AllPairsShortestPaths(graph, AllPairsShortestPaths.Strategy.BLOCKED_FLOYD_WARSHALL).compute();
+    }
+
+    // ties can be routed differently, so paths are checked by their length:
+    static void assertPath(Graph graph, int from, int to, int distance, int[] path) {
+        if (distance == Integer.MAX_VALUE) {
+            assertEquals(0, path.length);
+            return;
+        }
+        assertEquals(from, path[0]);
+        assertEquals(to, path[path.length - 1]);
+        int length = 0;
+        for (int i = 1; i < path.length; i++) {
+            int edge = graph.findEdge(path[i - 1], path[i]);
+            assertTrue(edge >= 0);
+            length += graph.getWeight(edge);
+        }
+        assertEquals(distance, length);
+    }
+
+}
@@ -0,0 +1,78 @@
+package ai_project.fileUtils;
+
+import ai_project.algorithms.AllPairsShortestPaths;
+import ai_project.models.DistanceTable;
+import ai_project.models.Graph;
+import ai_project.models.ShortestPaths;
+import ai_project.models.SuccessorTable;
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.IntBuffer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class GraphCacheTest {
+
+    private final static int NODES_COUNT = 40;
+    private final static long CHECKSUM = 5;
+
+    private File file;
+
+    @After
+    public void deleteFile() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void loadedTablesAreReadFromMapping() throws IOException {
+        Graph graph = new GraphGenerator(NODES_COUNT, 3, 0.3, 5).getGraph();
+        ShortestPaths computed = new AllPairsShortestPaths(
+                graph,
+                AllPairsShortestPaths.Strategy.BLOCKED_FLOYD_WARSHALL
+        ).compute();
+        file = File.createTempFile("graph_cache", ".bin");
+        GraphCache cache = new GraphCache(file.getPath());
+        cache.save(CHECKSUM, graph, computed);
+        assertNull(cache.load(CHECKSUM + 1));  // other input files
+        ShortestPaths loaded = cache.load(CHECKSUM).getShortestPaths();
+        assertTrue(loaded.getDistances().isReadOnly());
+        assertTrue(loaded.getSuccessors().isReadOnly());
+        for (int from = 0; from < NODES_COUNT; from++) {
+            for (int to = 0; to < NODES_COUNT; to++) {
+                assertEquals(computed.getDistance(from, to), loaded.getDistance(from, to));
+                assertEquals(computed.getSuccessor(from, to), loaded.getSuccessor(from, to));
+            }
+        }
+    }
+
+    @Test
+    public void rowsAreSplitBetweenWindows() {  // like mapping of a file over 2 GB, 4 rows per window here
+        int nodesCount = 10;
+        IntBuffer[] windows = new IntBuffer[3];
+        for (int i = 0; i < windows.length; i++) {
+            windows[i] = IntBuffer.allocate(Math.min(4, nodesCount - i * 4) * nodesCount);
+        }
+        DistanceTable distances = DistanceTable.wrap(nodesCount, windows, 4);
+        for (int from = 0; from < nodesCount; from++) {
+            for (int to = 0; to < nodesCount; to++) {
+                distances.set(from, to, from * 100 + to);
+            }
+        }
+        assertEquals(903, windows[2].get(nodesCount + 3));  // row 9 is second row of third window
+        int[] row = new int[nodesCount];
+        distances.getRow(5, row);
+        assertEquals(507, row[7]);
+        SuccessorTable successors = SuccessorTable.wrap(nodesCount, windows, 4);
+        assertEquals(908, successors.get(9, 8));
+        DistanceTable copy = DistanceTable.copyOnHeap(distances);
+        assertEquals(distances.get(6, 2), copy.get(6, 2));
+    }
+
+}